@@ -0,0 +1,82 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.digitalclassroombackend.model.Note;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+import com.example.digitalclassroombackend.service.NoteVisibilityIndex;
+
+/**
+ * Student visibility checks behind {@code getStudentNotes} and
+ * {@code getStudentAssignments}: the original scan over every loaded row
+ * against the bitmap entitlement index now used for notes. Assignment
+ * visibility is a database query and is covered by {@link StudentQueryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessFilteringBenchmark {
+
+    @Param({ "1000", "20000" })
+    public int notes;
+
+    private List<Note> noteList;
+    private NoteVisibilityIndex index;
+    private User student;
+
+    @Setup
+    public void setUp() {
+        List<User> students = BenchmarkData.students(500);
+        noteList = BenchmarkData.notes(notes, students);
+        student = students.get(17);
+
+        // The index only touches the repository to rebuild; start it empty and feed it like createNote does
+        NoteRepository emptyRepository = (NoteRepository) Proxy.newProxyInstance(
+                NoteRepository.class.getClassLoader(), new Class<?>[] { NoteRepository.class },
+                (proxy, method, args) -> List.class.isAssignableFrom(method.getReturnType()) ? List.of() : null);
+        index = new NoteVisibilityIndex(emptyRepository);
+        index.rebuild();
+        noteList.forEach(index::add);
+    }
+
+    @Benchmark
+    public List<Note> scanAllRows() {
+        List<Note> accessible = new ArrayList<>();
+        for (Note note : noteList) {
+            boolean canAccess = false;
+            if ("ALL_CLASS".equals(note.getAccessType())) {
+                canAccess = student.getClassSemester() != null && student.getClassSemester().equals(note.getClassSemester());
+            } else if ("SELECTED_STUDENTS".equals(note.getAccessType())) {
+                canAccess = note.getAssignedStudents() != null && note.getAssignedStudents().contains(student);
+            }
+            if (canAccess) {
+                accessible.add(note);
+            }
+        }
+        return accessible;
+    }
+
+    @Benchmark
+    public List<Long> visibilityIndex() {
+        return index.visibleNoteIds(student.getId(), student.getClassSemester());
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.Note;
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.QuizOption;
+import com.example.digitalclassroombackend.model.QuizQuestion;
+import com.example.digitalclassroombackend.model.User;
+
+/**
+ * Synthetic classroom data shaped like production: a handful of cohorts,
+ * mostly ALL_CLASS content with some SELECTED_STUDENTS rosters, and quizzes
+ * mixing MCQ, TRUE_FALSE and SHORT_ANSWER questions. Seeded so runs compare.
+ */
+final class BenchmarkData {
+
+    static final String[] COHORTS = {
+        "CSE – Semester 3", "CSE – Semester 5", "IT – Semester 4", "IT – Semester 6", "ECE – Semester 5"
+    };
+    static final String[] SUBJECTS = { "Java", "DBMS", "OS", "Networks", "Maths" };
+
+    private BenchmarkData() {
+    }
+
+    static List<User> students(int count) {
+        List<User> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User student = new User();
+            student.setId((long) (i + 2));
+            student.setUsername("student" + i);
+            student.setEmail("student" + i + "@classroom.com");
+            student.setRole(User.Role.STUDENT);
+            student.setStatus("APPROVED");
+            student.setClassSemester(COHORTS[i % COHORTS.length]);
+            student.setCreatedAt(LocalDateTime.of(2024, 7, 1, 9, 0));
+            students.add(student);
+        }
+        return students;
+    }
+
+    static User teacher() {
+        User teacher = new User();
+        teacher.setId(1L);
+        teacher.setUsername("teacher");
+        teacher.setEmail("teacher@classroom.com");
+        teacher.setRole(User.Role.TEACHER);
+        teacher.setStatus("APPROVED");
+        return teacher;
+    }
+
+    // Every tenth item is restricted to a roster of up to five students
+    static Set<User> roster(Random random, List<User> students, int index) {
+        Set<User> roster = new HashSet<>();
+        if (index % 10 == 0) {
+            for (int j = 0; j < 5; j++) {
+                roster.add(students.get(random.nextInt(students.size())));
+            }
+        }
+        return roster;
+    }
+
+    static List<Note> notes(int count, List<User> students) {
+        Random random = new Random(42);
+        User teacher = teacher();
+        List<Note> notes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Note note = new Note();
+            note.setId((long) (i + 1));
+            note.setTitle("Lecture notes " + i);
+            note.setDescription("Unit " + (i % 12) + " summary and worked examples");
+            note.setSubject(SUBJECTS[i % SUBJECTS.length]);
+            note.setClassSemester(COHORTS[random.nextInt(COHORTS.length)]);
+            note.setUploadedBy(teacher);
+            note.setUploadDate(LocalDateTime.of(2024, 8, 1, 10, 0).plusHours(i));
+            note.setFileName("notes-" + i + ".pdf");
+            note.setFileType("application/pdf");
+            Set<User> roster = roster(random, students, i);
+            note.setAccessType(roster.isEmpty() ? "ALL_CLASS" : "SELECTED_STUDENTS");
+            note.setAssignedStudents(roster);
+            notes.add(note);
+        }
+        return notes;
+    }
+
+    static List<Assignment> assignments(int count, List<User> students) {
+        Random random = new Random(7);
+        User teacher = teacher();
+        List<Assignment> assignments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Assignment assignment = new Assignment();
+            assignment.setId((long) (i + 1));
+            assignment.setTitle("Assignment " + i);
+            assignment.setDescription("Solve the exercises from unit " + (i % 12));
+            assignment.setSubject(SUBJECTS[i % SUBJECTS.length]);
+            assignment.setClassSemester(COHORTS[random.nextInt(COHORTS.length)]);
+            assignment.setCreatedBy(teacher);
+            assignment.setCreateDate(LocalDateTime.of(2024, 8, 1, 10, 0).plusHours(i));
+            assignment.setDueDate(LocalDateTime.of(2024, 9, 1, 23, 59).plusDays(i % 60));
+            assignment.setInstructions("Upload a single PDF with your answers.");
+            assignment.setSubmissionType("FILE");
+            assignment.setAllowedFileTypes("pdf,docx");
+            assignment.setLateSubmissionPolicy("PENALTY");
+            assignment.setTotalMarks(100);
+            Set<User> roster = roster(random, students, i);
+            assignment.setAccessType(roster.isEmpty() ? "ALL_CLASS" : "SELECTED_STUDENTS");
+            assignment.setAssignedStudents(roster);
+            assignments.add(assignment);
+        }
+        return assignments;
+    }
+
+    static Quiz quiz(long id, int questionCount) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        quiz.setTitle("Quiz " + id);
+        quiz.setDescription("Weekly assessment");
+        quiz.setSubject(SUBJECTS[(int) (id % SUBJECTS.length)]);
+        quiz.setClassSemester(COHORTS[(int) (id % COHORTS.length)]);
+        quiz.setAccessType("ALL_CLASS");
+        quiz.setTotalMarks(questionCount * 2);
+        quiz.setPassingMarks(40);
+        quiz.setNegativeMarking(true);
+        quiz.setCreatedBy(teacher());
+        quiz.setCreateDate(LocalDateTime.of(2024, 8, 1, 10, 0));
+        return quiz;
+    }
+
+    static List<QuizQuestion> questions(Quiz quiz, int count) {
+        List<QuizQuestion> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            QuizQuestion question = new QuizQuestion();
+            question.setId(quiz.getId() * 1000 + i);
+            question.setQuiz(quiz);
+            question.setQuestionText("Question " + i + " of " + quiz.getTitle());
+            question.setMarks(2);
+            question.setOrderIndex(i);
+            switch (i % 3) {
+                case 0 -> {
+                    question.setQuestionType("MCQ");
+                    question.setCorrectAnswerText("Option " + (i % 4));
+                }
+                case 1 -> question.setQuestionType("TRUE_FALSE");
+                default -> {
+                    question.setQuestionType("SHORT_ANSWER");
+                    question.setCorrectAnswer("answer " + i);
+                }
+            }
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    static Map<Long, List<QuizOption>> options(List<QuizQuestion> questions) {
+        Map<Long, List<QuizOption>> options = new HashMap<>();
+        long optionId = 1;
+        for (QuizQuestion question : questions) {
+            List<QuizOption> list = new ArrayList<>();
+            if ("TRUE_FALSE".equals(question.getQuestionType())) {
+                list.add(option(optionId++, question, "True", question.getId() % 2 == 0));
+                list.add(option(optionId++, question, "False", question.getId() % 2 != 0));
+            } else if ("MCQ".equals(question.getQuestionType())) {
+                for (int j = 0; j < 4; j++) {
+                    String text = "Option " + j;
+                    list.add(option(optionId++, question, text, text.equals(question.getCorrectAnswerText())));
+                }
+            }
+            options.put(question.getId(), list);
+        }
+        return options;
+    }
+
+    private static QuizOption option(long id, QuizQuestion question, String text, boolean correct) {
+        QuizOption option = new QuizOption();
+        option.setId(id);
+        option.setQuestion(question);
+        option.setOptionText(text);
+        option.setCorrect(correct);
+        return option;
+    }
+
+    // Answers as the frontend posts them: roughly 70% correct, with padding/case noise on text answers
+    static Map<String, Object> answers(List<QuizQuestion> questions, Random random) {
+        Map<String, Object> answers = new HashMap<>();
+        for (QuizQuestion question : questions) {
+            boolean right = random.nextInt(10) < 7;
+            Object answer;
+            switch (question.getQuestionType()) {
+                case "MCQ" -> answer = right ? " " + question.getCorrectAnswerText().toUpperCase() : "Option 9";
+                case "TRUE_FALSE" -> answer = (question.getId() % 2 == 0) == right;
+                default -> answer = right ? question.getCorrectAnswer() + "  " : "no idea";
+            }
+            answers.put(String.valueOf(question.getId()), answer);
+        }
+        return answers;
+    }
+}
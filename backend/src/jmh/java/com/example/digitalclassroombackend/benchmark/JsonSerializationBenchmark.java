@@ -0,0 +1,67 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Response serialization for the list endpoints that return entities directly
+ * (e.g. {@code GET /api/assignments}, {@code GET /api/quizzes}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "50", "500" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Assignment> assignments;
+    private List<Quiz> quizzes;
+
+    @Setup
+    public void setUp() {
+        // Same setup Boot applies to its ObjectMapper: java.time support, ISO dates
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<User> students = BenchmarkData.students(200);
+        assignments = BenchmarkData.assignments(size, students);
+        quizzes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            quizzes.add(BenchmarkData.quiz(i + 1, 20));
+        }
+    }
+
+    @Benchmark
+    public byte[] assignments() throws Exception {
+        return objectMapper.writeValueAsBytes(assignments);
+    }
+
+    @Benchmark
+    public byte[] quizzes() throws Exception {
+        return objectMapper.writeValueAsBytes(quizzes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.digitalclassroombackend.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Token work done on login and by the JWT filter on every authenticated request.
+ * The {@code legacy*} benchmarks reproduce the original per-call key construction
+ * and triple parse for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJwtTokenGeneration";
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        uncachedJwtUtil = new JwtUtil(0);
+        userDetails = new org.springframework.security.core.userdetails.User(
+                "student42", "{bcrypt}unused", List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    // What JwtRequestFilter does per request: one verification, answered from the verified-token cache
+    @Benchmark
+    public Claims filterPath() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    // Same, with the cache disabled: pre-built key and parser, full HMAC check and JSON parse
+    @Benchmark
+    public Claims filterPathUncached() {
+        return uncachedJwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    // Original filter path: extractUsername, then validateToken (extractUsername + extractExpiration)
+    @Benchmark
+    public Boolean legacyFilterPath() {
+        String username = legacyParse(token).getSubject();
+        return username != null && legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Claims legacyParse(String token) {
+        Key key = new SecretKeySpec(SECRET.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+        return Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody();
+    }
+}
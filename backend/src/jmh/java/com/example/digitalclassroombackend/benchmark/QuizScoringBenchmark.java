@@ -0,0 +1,77 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.QuizOption;
+import com.example.digitalclassroombackend.model.QuizQuestion;
+import com.example.digitalclassroombackend.service.QuizAnswerKey;
+
+/**
+ * Scoring throughput for {@code StudentController.submitQuiz}. With one
+ * thread, {@code score} ops/s reads directly as submissions/sec per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class QuizScoringBenchmark {
+
+    private static final int SUBMISSIONS = 256;
+
+    @Param({ "20", "50", "200" })
+    public int questions;
+
+    private Quiz quiz;
+    private List<QuizQuestion> questionList;
+    private Map<Long, List<QuizOption>> options;
+    private QuizAnswerKey answerKey;
+    private List<Map<String, Object>> submissions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        quiz = BenchmarkData.quiz(1L, questions);
+        questionList = BenchmarkData.questions(quiz, questions);
+        options = BenchmarkData.options(questionList);
+        answerKey = QuizAnswerKey.compile(quiz, questionList, options);
+
+        Random random = new Random(11);
+        submissions = new ArrayList<>(SUBMISSIONS);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            submissions.add(BenchmarkData.answers(questionList, random));
+        }
+    }
+
+    @Benchmark
+    public QuizAnswerKey.Result score() {
+        Map<String, Object> answers = submissions.get(next++ & (SUBMISSIONS - 1));
+        return answerKey.score(answers, 0.25);
+    }
+
+    // Paid once per quiz edit, when the cached key is invalidated
+    @Benchmark
+    public QuizAnswerKey compile() {
+        return QuizAnswerKey.compile(quiz, questionList, options);
+    }
+}
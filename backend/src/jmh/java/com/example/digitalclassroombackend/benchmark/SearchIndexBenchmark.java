@@ -0,0 +1,161 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.Note;
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+import com.example.digitalclassroombackend.service.SearchIndex;
+
+/**
+ * Query latency of {@link SearchIndex} behind {@code GET /api/search}. Text
+ * is drawn from a Zipf-distributed vocabulary of synthetic words mixed with
+ * course terms, so common terms have long postings and the dictionary has
+ * realistic neighbours for prefix and typo expansion. Half the documents are
+ * notes, 40% assignments and 10% quizzes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final String[] COURSE_TERMS = {
+        "normalization", "database", "scheduling", "recursion", "algorithm", "network", "protocol", "transaction",
+        "memory", "paging", "deadlock", "sorting", "graph", "matrix", "calculus", "compiler", "parsing", "thread",
+        "semaphore", "index", "query", "routing", "encryption", "inheritance", "polymorphism", "interface"
+    };
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "sa", "te", "vi", "do", "pe", "ri", "mo", "zu", "ta", "ge", "li", "no", "fa", "bo", "ce"
+    };
+
+    @Param({ "10000", "100000" })
+    public int documents;
+
+    private SearchIndex index;
+    private User student;
+    private String[] vocabulary;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        vocabulary = new String[30000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = i < COURSE_TERMS.length ? COURSE_TERMS[i] : syntheticWord(random);
+        }
+        List<User> students = BenchmarkData.students(500);
+        student = students.get(17);
+
+        index = new SearchIndex(emptyRepository(NoteRepository.class), emptyRepository(AssignmentRepository.class),
+                emptyRepository(QuizRepository.class));
+        index.rebuild();
+
+        // Fed like createNote / createAssignment / createQuiz do
+        int notes = documents / 2;
+        int assignments = documents * 2 / 5;
+        for (Note note : BenchmarkData.notes(notes, students)) {
+            note.setTitle(sentence(random, 3, 8));
+            note.setDescription(sentence(random, 10, 30));
+            index.add(note);
+        }
+        for (Assignment assignment : BenchmarkData.assignments(assignments, students)) {
+            assignment.setTitle(sentence(random, 3, 8));
+            assignment.setDescription(sentence(random, 10, 30));
+            assignment.setInstructions(sentence(random, 5, 15));
+            index.add(assignment);
+        }
+        for (int i = 0; i < documents - notes - assignments; i++) {
+            Quiz quiz = BenchmarkData.quiz(i + 1, 0);
+            quiz.setTitle(sentence(random, 2, 6));
+            quiz.setDescription(sentence(random, 5, 20));
+            index.add(quiz);
+        }
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> commonTermTeacher() {
+        return index.search("database", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> commonTermStudent() {
+        return index.search("database", null, student.getId(), student.getClassSemester(), 20);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> twoTermsStudent() {
+        return index.search("database normalization", null, student.getId(), student.getClassSemester(), 20);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> prefixStudent() {
+        return index.search("sched", null, student.getId(), student.getClassSemester(), 20);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> shortPrefixStudent() {
+        return index.search("ka", null, student.getId(), student.getClassSemester(), 20);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> typoStudent() {
+        return index.search("shceduling algoritm", null, student.getId(), student.getClassSemester(), 20);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> rareTermStudent() {
+        return index.search(vocabulary[vocabulary.length - 1], SearchIndex.Type.NOTE, student.getId(), student.getClassSemester(), 20);
+    }
+
+    // Word rank r is drawn with probability ~ 1/r
+    private String sentence(Random random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        double harmonic = Math.log(vocabulary.length) + 0.5772;
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.min(vocabulary.length - 1, Math.exp(random.nextDouble() * harmonic) - 1);
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[rank]);
+        }
+        return text.toString();
+    }
+
+    private static String syntheticWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    // The index only touches the repositories to rebuild
+    @SuppressWarnings("unchecked")
+    private static <T> T emptyRepository(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> List.class.isAssignableFrom(method.getReturnType()) ? List.of() : null);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.digitalclassroombackend.DigitalClassroomBackendApplication;
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.service.StudentStatsService;
+
+/**
+ * Student dashboard queries against the real repositories on the in-memory
+ * H2 database. Latency should stay flat as {@code submissions} grows, since
+ * the stats are anti-join counts and visibility is resolved in SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentQueryBenchmark {
+
+    private static final int STUDENTS = 500;
+    private static final int ASSIGNMENTS = 200;
+    private static final int QUIZZES = 50;
+
+    @Param({ "1000", "10000", "100000" })
+    public int submissions;
+
+    private ConfigurableApplicationContext context;
+    private StudentStatsService studentStatsService;
+    private AssignmentRepository assignmentRepository;
+    private Long studentId;
+    private String classSemester;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DigitalClassroomBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench" + submissions + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        studentStatsService = context.getBean(StudentStatsService.class);
+        assignmentRepository = context.getBean(AssignmentRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Long> studentStats() {
+        return studentStatsService.getStats(studentId);
+    }
+
+    @Benchmark
+    public List<Assignment> visibleAssignments() {
+        return assignmentRepository.findVisibleToStudent(studentId, classSemester);
+    }
+
+    // Plain JDBC batches: seeding through JPA would fire entity listeners and take minutes at 100k rows
+    private void seed(JdbcTemplate jdbc) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        users.add(new Object[] { "bench-teacher", "x", "bench-teacher@classroom.com", "TEACHER", "APPROVED", null });
+        for (int i = 0; i < STUDENTS; i++) {
+            users.add(new Object[] { "bench-student" + i, "x", "bench-student" + i + "@classroom.com", "STUDENT", "APPROVED",
+                    BenchmarkData.COHORTS[i % BenchmarkData.COHORTS.length] });
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, password, email, role, status, class_semester) VALUES (?, ?, ?, ?, ?, ?)", users);
+        Long teacherId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'bench-teacher'", Long.class);
+        List<Long> studentIds = jdbc.queryForList("SELECT id FROM users WHERE role = 'STUDENT' ORDER BY id", Long.class);
+
+        List<Object[]> assignments = new ArrayList<>();
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            // Half still open, half past due
+            Timestamp due = Timestamp.valueOf(now.plusDays(i % 2 == 0 ? 7 + i : -7 - i));
+            assignments.add(new Object[] { "Assignment " + i, teacherId, BenchmarkData.COHORTS[i % BenchmarkData.COHORTS.length],
+                    i % 10 == 0 ? "SELECTED_STUDENTS" : "ALL_CLASS", due, Timestamp.valueOf(now) });
+        }
+        jdbc.batchUpdate("INSERT INTO assignments (title, created_by, class_semester, access_type, due_date, create_date) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", assignments);
+        List<Long> assignmentIds = jdbc.queryForList("SELECT id FROM assignments ORDER BY id", Long.class);
+
+        List<Object[]> rosters = new ArrayList<>();
+        for (int i = 0; i < ASSIGNMENTS; i += 10) {
+            for (int j = 0; j < 5; j++) {
+                rosters.add(new Object[] { assignmentIds.get(i), studentIds.get((i * 7 + j * 31) % STUDENTS) });
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO assignment_assigned_students (assignment_id, student_id) VALUES (?, ?)", rosters);
+
+        List<Object[]> quizzes = new ArrayList<>();
+        for (int i = 0; i < QUIZZES; i++) {
+            quizzes.add(new Object[] { "Quiz " + i, teacherId, BenchmarkData.COHORTS[i % BenchmarkData.COHORTS.length], "ALL_CLASS" });
+        }
+        jdbc.batchUpdate("INSERT INTO quizzes (title, created_by, class_semester, access_type) VALUES (?, ?, ?, ?)", quizzes);
+        List<Long> quizIds = jdbc.queryForList("SELECT id FROM quizzes ORDER BY id", Long.class);
+
+        // (assignment, student) pairs are unique, so walk them in order; every third submission gets a published grade
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> quizRows = new ArrayList<>();
+        Timestamp submitted = Timestamp.valueOf(now.minusDays(1));
+        for (int n = 0; n < submissions; n++) {
+            rows.add(new Object[] { assignmentIds.get(n / STUDENTS % ASSIGNMENTS), studentIds.get(n % STUDENTS), submitted, "answers.pdf" });
+            if (n % 2 == 0) {
+                quizRows.add(new Object[] { quizIds.get(n / STUDENTS % QUIZZES), studentIds.get(n % STUDENTS), 10.0, submitted, "{}" });
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO submissions (assignment_id, submitted_by, submit_date, file_name) VALUES (?, ?, ?, ?)", rows);
+        jdbc.batchUpdate("INSERT INTO quiz_submissions (quiz_id, submitted_by, score, submit_date, answers) VALUES (?, ?, ?, ?, ?)", quizRows);
+        jdbc.update("INSERT INTO grades (submission_id, marks, status) SELECT id, 80, 'PUBLISHED' FROM submissions WHERE MOD(id, 3) = 0");
+
+        studentId = studentIds.get(17);
+        classSemester = BenchmarkData.COHORTS[17 % BenchmarkData.COHORTS.length];
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.digitalclassroombackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.digitalclassroombackend.service.MinHash;
+
+/**
+ * Cost of {@code GET /api/assignments/{id}/similarity} as the class grows:
+ * LSH candidate pairs plus their verification ({@code lshReport}) against
+ * comparing every pair of signatures ({@code allPairsReport}). One submission
+ * in ten is a lightly edited copy of another. {@code signature} is the
+ * background cost per submission for a 2,000-word essay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmissionSimilarityBenchmark {
+
+    private static final int ESSAY_WORDS = 2000;
+    private static final double THRESHOLD = 0.5;
+
+    @Param({ "100", "1000", "5000" })
+    public int submissions;
+
+    private List<int[]> signatures;
+    private List<String> essay;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        String[] vocabulary = new String[8000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36);
+        }
+        List<List<String>> essays = new ArrayList<>(submissions);
+        signatures = new ArrayList<>(submissions);
+        for (int i = 0; i < submissions; i++) {
+            List<String> words;
+            if (i % 10 == 9) {
+                // Copy of an earlier essay with 5% of the words changed
+                words = new ArrayList<>(essays.get(random.nextInt(i)));
+                for (int edit = 0; edit < words.size() / 20; edit++) {
+                    words.set(random.nextInt(words.size()), vocabulary[random.nextInt(vocabulary.length)]);
+                }
+            } else {
+                words = new ArrayList<>(ESSAY_WORDS);
+                for (int w = 0; w < ESSAY_WORDS; w++) {
+                    // Skewed towards common words, as essays on one topic are
+                    words.add(vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), 3))]);
+                }
+            }
+            essays.add(words);
+            signatures.add(MinHash.signature(words));
+        }
+        essay = essays.get(0);
+    }
+
+    @Benchmark
+    public int signature() {
+        return MinHash.signature(essay)[0];
+    }
+
+    @Benchmark
+    public int lshReport() {
+        int flagged = 0;
+        for (long pair : MinHash.candidatePairs(signatures)) {
+            if (MinHash.similarity(signatures.get((int) (pair >>> 32)), signatures.get((int) pair)) >= THRESHOLD) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    @Benchmark
+    public int allPairsReport() {
+        int flagged = 0;
+        for (int i = 0; i < signatures.size(); i++) {
+            for (int j = i + 1; j < signatures.size(); j++) {
+                if (MinHash.similarity(signatures.get(i), signatures.get(j)) >= THRESHOLD) {
+                    flagged++;
+                }
+            }
+        }
+        return flagged;
+    }
+}
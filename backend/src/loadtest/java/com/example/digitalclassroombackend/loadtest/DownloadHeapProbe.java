@@ -0,0 +1,163 @@
+package com.example.digitalclassroombackend.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Hammers {@code GET /api/notes/download/{id}} with many concurrent clients and
+ * watches the server's heap through the actuator while they run. Uploads a
+ * note of {@code load.download-bytes} first unless {@code load.note-id} names an
+ * existing locally stored note (Cloudinary-hosted notes are redirects and say
+ * nothing about the local path). Reports heap used before, peak during, and
+ * bytes allocated per byte served; with streaming downloads the peak stays
+ * flat instead of growing with concurrency times file size.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dload.main=com.example.digitalclassroombackend.loadtest.DownloadHeapProbe \
+ *     -Dload.url=http://localhost:8080 -Dload.concurrency=200 -Dload.rounds=5
+ * </pre>
+ */
+public class DownloadHeapProbe {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("load.url", "http://localhost:8080");
+    private final int concurrency = Integer.getInteger("load.concurrency", 200);
+    private final int rounds = Integer.getInteger("load.rounds", 5);
+    private final int downloadBytes = Integer.getInteger("load.download-bytes", 8 * 1024 * 1024);
+    private final String adminPassword = System.getProperty("load.admin-password", "123");
+    private final Long noteId = Long.getLong("load.note-id");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        new DownloadHeapProbe().run();
+    }
+
+    private void run() throws Exception {
+        String token = login("admin", adminPassword);
+        long id = noteId != null ? noteId : uploadNote(token);
+        long fileSize = download(token, id);
+        System.out.printf("Note %d, %d bytes; %d concurrent downloads x %d rounds against %s%n",
+                id, fileSize, concurrency, rounds, baseUrl);
+
+        HeapSampler heap = new HeapSampler(client, baseUrl);
+        heap.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long served = 0;
+        int failures = 0;
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            // All clients start together so every download of the round is in flight at once
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return download(token, id);
+                }));
+            }
+            go.countDown();
+            for (Future<Long> result : results) {
+                try {
+                    served += result.get();
+                } catch (Exception e) {
+                    failures++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+        heap.stop();
+
+        System.out.printf("Served %,d bytes in %.1fs (%.1f MB/s), %d failed downloads%n",
+                served, seconds, served / seconds / (1 << 20), failures);
+        heap.print(served);
+    }
+
+    private long uploadNote(String token) throws IOException, InterruptedException {
+        String boundary = "----probe" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        byte[] content = new byte[downloadBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(downloadBytes + 1024);
+        for (Map.Entry<String, String> field : Map.of("title", "Download probe", "subject", "Probe",
+                "classSemester", "Probe", "accessType", "ALL_CLASS").entrySet()) {
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n"
+                    + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"probe.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/notes"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Upload failed (" + response.statusCode() + "): " + response.body());
+        }
+
+        JsonNode notes = MAPPER.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/notes/notes")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+        long id = -1;
+        for (JsonNode note : notes) {
+            id = Math.max(id, note.path("id").asLong());
+        }
+        return id;
+    }
+
+    // Reads and discards the body, returning the number of bytes received
+    private long download(String token, long id) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/notes/download/" + id))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream in = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Download returned " + response.statusCode());
+            }
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                total += n;
+            }
+            return total;
+        }
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("username", username, "password", password))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body()).path("token").asText();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.digitalclassroombackend.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for the Cloudinary upload API so the background note upload
+ * pipeline can be exercised without network access. Accepts
+ * {@code POST /v1_1/<cloud>/<resource_type>/upload}, keeps the uploaded file in
+ * memory and serves it back from the returned {@code secure_url}. Latency and
+ * a failure rate can be injected to exercise retries.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dload.main=com.example.digitalclassroombackend.loadtest.FakeCloudinaryServer \
+ *     -Dfake.port=9999 -Dfake.latency-ms=200 -Dfake.failure-rate=0.3
+ * java -jar backend.jar --cloudinary.upload-prefix=http://localhost:9999
+ * </pre>
+ */
+public class FakeCloudinaryServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int port = Integer.getInteger("fake.port", 9999);
+    private final long latencyMillis = Long.getLong("fake.latency-ms", 0);
+    private final double failureRate = Double.parseDouble(System.getProperty("fake.failure-rate", "0"));
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public static void main(String[] args) throws IOException {
+        new FakeCloudinaryServer().start();
+    }
+
+    private void start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/v1_1/", this::upload);
+        server.createContext("/files/", this::download);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        System.out.printf("Fake Cloudinary listening on http://localhost:%d (latency %dms, failure rate %.2f)%n",
+                port, latencyMillis, failureRate);
+    }
+
+    private void upload(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            failures.incrementAndGet();
+            respond(exchange, 500, Map.of("error", Map.of("message", "Injected failure")));
+            return;
+        }
+
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String boundary = contentType.substring(contentType.indexOf("boundary=") + 9).split(";")[0].trim();
+        Map<String, byte[]> parts = parseMultipart(body, boundary);
+        String publicId = parts.containsKey("public_id")
+                ? new String(parts.get("public_id"), StandardCharsets.UTF_8)
+                : Long.toHexString(ThreadLocalRandom.current().nextLong());
+        byte[] file = parts.getOrDefault("file", new byte[0]);
+        files.put(publicId, file);
+
+        long count = uploads.incrementAndGet();
+        System.out.printf("Upload #%d %s (%d bytes), %d injected failures so far%n", count, publicId, file.length, failures.get());
+        respond(exchange, 200, Map.of(
+                "public_id", publicId,
+                "bytes", file.length,
+                "secure_url", "http://localhost:" + port + "/files/" + publicId,
+                "resource_type", "raw"));
+    }
+
+    private void download(HttpExchange exchange) throws IOException {
+        byte[] file = files.get(exchange.getRequestURI().getPath().substring("/files/".length()));
+        if (file == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(200, file.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(file);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object json) throws IOException {
+        byte[] payload = MAPPER.writeValueAsBytes(json);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+
+    // Minimal multipart/form-data parser: part name -> raw bytes (ISO-8859-1 keeps bytes intact)
+    private static Map<String, byte[]> parseMultipart(byte[] body, String boundary) {
+        Map<String, byte[]> parts = new ConcurrentHashMap<>();
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        String delimiter = "--" + boundary.replace("\"", "");
+        int position = text.indexOf(delimiter);
+        while (position >= 0) {
+            int headerStart = position + delimiter.length();
+            if (text.startsWith("--", headerStart)) {
+                break;
+            }
+            int headerEnd = text.indexOf("\r\n\r\n", headerStart);
+            int next = text.indexOf("\r\n" + delimiter, headerEnd);
+            if (headerEnd < 0 || next < 0) {
+                break;
+            }
+            String headers = text.substring(headerStart, headerEnd);
+            int nameAt = headers.indexOf("name=\"");
+            if (nameAt >= 0) {
+                String name = headers.substring(nameAt + 6, headers.indexOf('"', nameAt + 6));
+                parts.put(name, text.substring(headerEnd + 4, next).getBytes(StandardCharsets.ISO_8859_1));
+            }
+            position = next + 2;
+        }
+        return parts;
+    }
+}
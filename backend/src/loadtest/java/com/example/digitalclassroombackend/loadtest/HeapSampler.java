@@ -0,0 +1,90 @@
+package com.example.digitalclassroombackend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Polls the backend's actuator for heap used while a probe runs and reports
+ * the peak, plus bytes allocated over the run (from
+ * {@code jvm.gc.memory.allocated}).
+ */
+final class HeapSampler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final AtomicBoolean sampling = new AtomicBoolean();
+    private final AtomicLong peak = new AtomicLong();
+    private long before;
+    private double allocatedBefore;
+    private double allocatedAfter;
+    private Thread thread;
+
+    HeapSampler(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    void start() throws IOException, InterruptedException {
+        before = heapUsed();
+        peak.set(before);
+        allocatedBefore = allocatedBytes();
+        sampling.set(true);
+        thread = new Thread(() -> {
+            while (sampling.get()) {
+                try {
+                    peak.accumulateAndGet(heapUsed(), Math::max);
+                    Thread.sleep(50);
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        }, "heap-sampler");
+        thread.start();
+    }
+
+    void stop() throws IOException, InterruptedException {
+        sampling.set(false);
+        thread.join();
+        allocatedAfter = allocatedBytes();
+    }
+
+    void print(long bytesServed) {
+        System.out.printf("Heap used: before %,d MB, peak %,d MB (+%,d MB)%n",
+                before >> 20, peak.get() >> 20, (peak.get() - before) >> 20);
+        double allocated = allocatedAfter - allocatedBefore;
+        if (allocatedBefore >= 0 && allocated >= 0 && bytesServed > 0) {
+            System.out.printf("Allocated %,d MB during the run, %.3f bytes per byte served%n",
+                    (long) allocated >> 20, allocated / bytesServed);
+        }
+    }
+
+    private long heapUsed() throws IOException, InterruptedException {
+        return (long) metric("jvm.memory.used?tag=area:heap");
+    }
+
+    private double allocatedBytes() throws IOException, InterruptedException {
+        try {
+            return metric("jvm.gc.memory.allocated");
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    private double metric(String query) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + query)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Metric " + query + " unavailable: " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).path("measurements").path(0).path("value").asDouble();
+    }
+}
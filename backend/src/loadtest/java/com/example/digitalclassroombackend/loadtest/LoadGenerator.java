@@ -0,0 +1,619 @@
+package com.example.digitalclassroombackend.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Closed-loop load generator for a running backend, normally one started with
+ * the {@code seed} profile. Each worker logs in as a random seeded student and
+ * teacher, then loops over a weighted mix of scenarios:
+ * <ul>
+ *   <li>dashboard - student stats, notes, assignments and grades</li>
+ *   <li>quiz - load quiz details, answer and submit</li>
+ *   <li>submit - upload an assignment submission</li>
+ *   <li>grade - teacher pulls pending submissions and publishes a grade</li>
+ * </ul>
+ * Throughput and p50/p99 latency are reported per endpoint after the run.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dload.url=http://localhost:8080 -Dload.workers=50 -Dload.duration=120
+ * </pre>
+ *
+ * With {@code load.steps} the run is repeated at each worker count and ends
+ * with one summary line per step: throughput, read and upload latency, and
+ * the server's peak live threads, heap and waiting JDBC connections sampled
+ * from {@code /actuator/metrics}. {@code load.upload-kbps} sends submissions
+ * at a mobile client's pace, which is what ties up request threads. To size
+ * an instance, run the same steps against the worker pool and against
+ * virtual threads ({@code --spring.threads.virtual.enabled=true}):
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dload.mix=dashboard=70,submit=30 -Dload.upload-kbps=256 -Dload.steps=50,200,400
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("load.url", "http://localhost:8080");
+    private final int workers = Integer.getInteger("load.workers", 32);
+    private final int durationSeconds = Integer.getInteger("load.duration", 60);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 10);
+    private final int students = Integer.getInteger("load.students", 2000);
+    private final int teachers = Integer.getInteger("load.teachers", 20);
+    private final String password = System.getProperty("load.password", "password");
+    private final String adminPassword = System.getProperty("load.admin-password", "123");
+    private final Map<String, Integer> mix = parseMix(System.getProperty("load.mix", "dashboard=50,quiz=25,submit=15,grade=10"));
+    private final int uploadBytes = Integer.getInteger("load.upload-bytes", 64 * 1024);
+    private final int uploadKbps = Integer.getInteger("load.upload-kbps", 0); // 0 = as fast as the network allows
+    private final List<Integer> steps = parseSteps(System.getProperty("load.steps", ""));
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, Long> teacherIds = new HashMap<>();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>(); // reused across steps
+    private List<Long> quizIds = List.of();
+
+    public static void main(String[] args) throws Exception {
+        new LoadGenerator().run();
+    }
+
+    private void run() throws Exception {
+        prepare();
+        String threads = serverThreads();
+        if (steps.isEmpty()) {
+            System.out.printf("Running %d workers for %ds (+%ds warmup) against %s (%s), mix %s%n",
+                    workers, durationSeconds, warmupSeconds, baseUrl, threads, mix);
+            runStep(workers).stats.print(durationSeconds);
+            return;
+        }
+
+        // Logins are BCrypt-bound; do them all up front so no step measures a login storm
+        int maxWorkers = steps.stream().mapToInt(Integer::intValue).max().orElse(0);
+        System.out.printf("Logging in %d students and %d teachers%n", Math.min(maxWorkers, students), Math.min(maxWorkers, teachers));
+        ExecutorService loginPool = Executors.newFixedThreadPool(8);
+        List<Future<String>> logins = new ArrayList<>();
+        for (int i = 0; i < maxWorkers; i++) {
+            String student = "student" + (1 + i % students);
+            logins.add(loginPool.submit(() -> tokens.computeIfAbsent(student, this::loginQuietly)));
+            if (i < teachers) {
+                String teacher = "teacher" + (1 + i);
+                logins.add(loginPool.submit(() -> tokens.computeIfAbsent(teacher, this::loginQuietly)));
+            }
+        }
+        for (Future<String> login : logins) {
+            login.get();
+        }
+        loginPool.shutdown();
+
+        List<Step> results = new ArrayList<>();
+        for (int stepWorkers : steps) {
+            System.out.printf("%nRunning %d workers for %ds (+%ds warmup) against %s (%s), mix %s%s%n",
+                    stepWorkers, durationSeconds, warmupSeconds, baseUrl, threads, mix,
+                    uploadKbps > 0 ? ", uploads at " + uploadKbps + " kbit/s" : "");
+            Step step = runStep(stepWorkers);
+            step.stats.print(durationSeconds);
+            results.add(step);
+        }
+
+        System.out.printf("%nSummary for %s, %ds per step%n", threads, durationSeconds);
+        System.out.printf("%8s %8s %8s %10s %10s %10s %10s %9s %9s %9s%n", "workers", "req/s", "errors",
+                "read p50", "read p99", "upload p50", "upload p99", "threads", "heap MB", "db wait");
+        for (Step step : results) {
+            Samples reads = step.stats.combined(endpoint -> endpoint.startsWith("GET "));
+            Samples uploads = step.stats.combined(endpoint -> endpoint.equals("POST /api/assignments/submit"));
+            System.out.printf("%8d %8.1f %8d %10.1f %10.1f %10.1f %10.1f %9.0f %9.0f %9.0f%n", step.workers,
+                    (double) step.stats.combined(endpoint -> true).size / durationSeconds, step.stats.combined(endpoint -> true).errors,
+                    reads.percentileMillis(0.50), reads.percentileMillis(0.99),
+                    uploads.percentileMillis(0.50), uploads.percentileMillis(0.99),
+                    step.server.peak("jvm.threads.live"), step.server.peak("jvm.memory.used") / (1024 * 1024),
+                    step.server.peak("hikaricp.connections.pending"));
+        }
+    }
+
+    private Step runStep(int stepWorkers) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        ServerSampler server = new ServerSampler(measureFrom, end);
+        Thread sampler = new Thread(server, "server-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(stepWorkers);
+        List<Future<Stats>> results = new ArrayList<>();
+        for (int i = 0; i < stepWorkers; i++) {
+            // Stepped runs give worker i a fixed account so tokens carry over between steps
+            int index = steps.isEmpty() ? -1 : i;
+            results.add(pool.submit(() -> new Worker(measureFrom, end, index).call()));
+        }
+        Stats total = new Stats();
+        for (Future<Stats> result : results) {
+            total.merge(result.get());
+        }
+        pool.shutdown();
+        sampler.join();
+        return new Step(stepWorkers, total, server);
+    }
+
+    // "virtual threads" or "platform worker pool", from the flag the backend publishes at /actuator/info
+    private String serverThreads() {
+        try {
+            JsonNode info = MAPPER.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/info")).GET().build()).body());
+            return info.path("threads").path("virtual").asBoolean() ? "virtual threads" : "platform worker pool";
+        } catch (Exception e) {
+            return "unknown thread mode";
+        }
+    }
+
+    // Quiz ids and teacher ids are looked up once; workers only need them as targets
+    private void prepare() throws Exception {
+        String adminToken = login("admin", adminPassword);
+        JsonNode users = MAPPER.readTree(send(get("/api/admin/users", adminToken)).body());
+        for (JsonNode user : users) {
+            if ("TEACHER".equals(user.path("role").asText())) {
+                teacherIds.put(user.path("username").asText(), user.path("id").asLong());
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode quiz : MAPPER.readTree(send(get("/api/quizzes", adminToken)).body())) {
+            ids.add(quiz.path("id").asLong());
+        }
+        quizIds = ids;
+        if (teacherIds.isEmpty() || quizIds.isEmpty()) {
+            throw new IllegalStateException("No seeded teachers or quizzes found; start the backend with --spring.profiles.active=seed");
+        }
+    }
+
+    private String login(String username, String userPassword) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("username", username, "password", userPassword))))
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body()).path("token").asText();
+    }
+
+    private String loginQuietly(String username) {
+        try {
+            return login(username, password);
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Login failed for " + username, e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static List<Integer> parseSteps(String spec) {
+        List<Integer> counts = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            if (!part.isBlank()) {
+                counts.add(Integer.parseInt(part.trim()));
+            }
+        }
+        return counts;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private final class Worker {
+
+        private final long measureFrom;
+        private final long end;
+        private final Stats stats = new Stats();
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+        private final String student;
+        private final String teacher;
+        private String studentToken;
+        private String teacherToken;
+        private List<Long> visibleAssignments = List.of();
+
+        // index < 0 picks a random student and teacher
+        private Worker(long measureFrom, long end, int index) {
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.student = "student" + (1 + (index < 0 ? random.nextInt(students) : index % students));
+            this.teacher = "teacher" + (1 + (index < 0 ? random.nextInt(teachers) : index % teachers));
+        }
+
+        Stats call() throws Exception {
+            studentToken = token(student);
+            teacherToken = token(teacher);
+            int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+            while (System.nanoTime() < end) {
+                int pick = random.nextInt(totalWeight);
+                for (Map.Entry<String, Integer> scenario : mix.entrySet()) {
+                    pick -= scenario.getValue();
+                    if (pick < 0) {
+                        runScenario(scenario.getKey());
+                        break;
+                    }
+                }
+            }
+            return stats;
+        }
+
+        private void runScenario(String scenario) {
+            try {
+                switch (scenario) {
+                    case "dashboard" -> dashboard();
+                    case "quiz" -> takeQuiz();
+                    case "submit" -> submitAssignment();
+                    case "grade" -> grade();
+                    default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                stats.record("scenario " + scenario, 0, -1, false);
+            }
+        }
+
+        private String token(String username) throws IOException, InterruptedException {
+            String token = tokens.get(username);
+            if (token == null) {
+                token = timedLogin(username);
+                tokens.put(username, token);
+            }
+            return token;
+        }
+
+        private String timedLogin(String username) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("username", username, "password", password))))
+                    .build();
+            HttpResponse<String> response = timed("POST /api/auth/login", request);
+            return MAPPER.readTree(response.body()).path("token").asText();
+        }
+
+        private void dashboard() throws IOException, InterruptedException {
+            timed("GET /api/student/stats", get("/api/student/stats", studentToken));
+            timed("GET /api/notes/student/notes", get("/api/notes/student/notes", studentToken));
+            HttpResponse<String> assignments = timed("GET /api/assignments/student/assignments",
+                    get("/api/assignments/student/assignments", studentToken));
+            if (assignments.statusCode() == 200) {
+                List<Long> ids = new ArrayList<>();
+                for (JsonNode assignment : MAPPER.readTree(assignments.body())) {
+                    ids.add(assignment.path("id").asLong());
+                }
+                visibleAssignments = ids;
+            }
+            timed("GET /api/student/grades", get("/api/student/grades", studentToken));
+        }
+
+        private void takeQuiz() throws IOException, InterruptedException {
+            long quizId = quizIds.get(random.nextInt(quizIds.size()));
+            HttpResponse<String> details = timed("GET /api/student/quizzes/{id}/details",
+                    get("/api/student/quizzes/" + quizId + "/details", studentToken));
+            if (details.statusCode() != 200) {
+                return;
+            }
+            // Answer like a student would: pick an option or type a short answer for every question
+            Map<String, Object> answers = new HashMap<>();
+            for (JsonNode question : MAPPER.readTree(details.body()).path("questions")) {
+                String id = question.path("id").asText();
+                JsonNode options = question.path("options");
+                switch (question.path("questionType").asText()) {
+                    case "TRUE_FALSE" -> answers.put(id, random.nextBoolean());
+                    case "SHORT_ANSWER" -> answers.put(id, "answer " + (1 + random.nextInt(20)));
+                    default -> answers.put(id, options.size() > 0
+                            ? options.get(random.nextInt(options.size())).path("optionText").asText() : "");
+                }
+            }
+            timed("POST /api/student/quizzes/{id}/submit", HttpRequest.newBuilder(URI.create(baseUrl + "/api/student/quizzes/" + quizId + "/submit"))
+                    .header("Authorization", "Bearer " + studentToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(answers)))
+                    .build());
+        }
+
+        private void submitAssignment() throws IOException, InterruptedException {
+            if (visibleAssignments.isEmpty()) {
+                dashboard();
+                if (visibleAssignments.isEmpty()) {
+                    return;
+                }
+            }
+            long assignmentId = visibleAssignments.get(random.nextInt(visibleAssignments.size()));
+            String boundary = "----load" + Long.toHexString(random.nextLong());
+            byte[] file = new byte[uploadBytes];
+            random.nextBytes(file);
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream(uploadBytes + 512);
+            writeField(body, boundary, "assignmentId", String.valueOf(assignmentId));
+            writeField(body, boundary, "username", student);
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + student + "-" + assignmentId
+                    + ".pdf\"\r\nContent-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(file);
+            body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+            // 409 means this student already submitted it, which is a normal outcome under load
+            timed("POST /api/assignments/submit", HttpRequest.newBuilder(URI.create(baseUrl + "/api/assignments/submit"))
+                    .header("Authorization", "Bearer " + studentToken)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(uploadBody(body.toByteArray()))
+                    .build());
+        }
+
+        private HttpRequest.BodyPublisher uploadBody(byte[] body) {
+            if (uploadKbps <= 0) {
+                return HttpRequest.BodyPublishers.ofByteArray(body);
+            }
+            return HttpRequest.BodyPublishers.fromPublisher(
+                    HttpRequest.BodyPublishers.ofInputStream(() -> new ThrottledInputStream(body, uploadKbps * 1000L / 8)), body.length);
+        }
+
+        private void grade() throws IOException, InterruptedException {
+            Long teacherId = teacherIds.get(teacher);
+            HttpResponse<String> feed = timed("GET /api/assignments/submissions/feed",
+                    get("/api/assignments/submissions/feed?gradeStatus=PENDING&limit=20&teacherId=" + teacherId, teacherToken));
+            if (feed.statusCode() != 200) {
+                return;
+            }
+            JsonNode items = MAPPER.readTree(feed.body()).path("items");
+            if (items.size() == 0) {
+                return;
+            }
+            JsonNode submission = items.get(random.nextInt(items.size()));
+            Map<String, Object> grade = new HashMap<>();
+            grade.put("submission_id", submission.path("id").asLong());
+            grade.put("marks", 40 + random.nextInt(61));
+            grade.put("feedback", "Graded under load");
+            grade.put("action", random.nextBoolean() ? "publish" : "draft");
+            timed("POST /api/teacher/grades", HttpRequest.newBuilder(URI.create(baseUrl + "/api/teacher/grades"))
+                    .header("Authorization", "Bearer " + teacherToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(grade)))
+                    .build());
+        }
+
+        private HttpResponse<String> timed(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+            long begin = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = send(request);
+            } catch (IOException e) {
+                record(endpoint, begin, -1);
+                throw e;
+            }
+            record(endpoint, begin, response.statusCode());
+            return response;
+        }
+
+        private void record(String endpoint, long begin, int status) {
+            long now = System.nanoTime();
+            if (begin >= measureFrom && now <= end) {
+                boolean ok = status >= 200 && status < 300 || status == 409;
+                stats.record(endpoint, now - begin, status, ok);
+            }
+        }
+    }
+
+    private static void writeField(ByteArrayOutputStream body, String boundary, String name, String value) throws IOException {
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Per-worker latency samples, merged once the run is over. */
+    private static final class Stats {
+
+        private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+        void record(String endpoint, long nanos, int status, boolean ok) {
+            Samples samples = byEndpoint.computeIfAbsent(endpoint, key -> new Samples());
+            samples.add(nanos);
+            if (!ok) {
+                samples.errors++;
+            }
+            if (status == 409) {
+                samples.conflicts++;
+            }
+        }
+
+        Samples combined(Predicate<String> endpoints) {
+            Samples combined = new Samples();
+            byEndpoint.forEach((endpoint, samples) -> {
+                if (endpoints.test(endpoint)) {
+                    combined.merge(samples);
+                }
+            });
+            return combined;
+        }
+
+        void merge(Stats other) {
+            other.byEndpoint.forEach((endpoint, samples) -> byEndpoint.computeIfAbsent(endpoint, key -> new Samples()).merge(samples));
+        }
+
+        void print(int seconds) {
+            System.out.printf("%n%-48s %9s %8s %8s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+            long requests = 0;
+            for (Map.Entry<String, Samples> entry : byEndpoint.entrySet()) {
+                Samples samples = entry.getValue();
+                long[] sorted = Arrays.copyOf(samples.values, samples.size);
+                Arrays.sort(sorted);
+                requests += samples.size;
+                System.out.printf("%-48s %9d %8.1f %8d %9.1f %9.1f %9.1f%s%n", entry.getKey(), samples.size, (double) samples.size / seconds,
+                        samples.errors, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                        millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0),
+                        samples.conflicts > 0 ? "  (" + samples.conflicts + " x 409)" : "");
+            }
+            System.out.printf("%-48s %9d %8.1f%n", "total", requests, (double) requests / seconds);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+        private long conflicts;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void merge(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+            errors += other.errors;
+            conflicts += other.conflicts;
+        }
+
+        double percentileMillis(double quantile) {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return Stats.millis(Stats.percentile(sorted, quantile));
+        }
+    }
+
+    private static final class Step {
+
+        private final int workers;
+        private final Stats stats;
+        private final ServerSampler server;
+
+        private Step(int workers, Stats stats, ServerSampler server) {
+            this.workers = workers;
+            this.stats = stats;
+            this.server = server;
+        }
+    }
+
+    /** Polls a few backend gauges once a second during the measured window and keeps their peaks. */
+    private final class ServerSampler implements Runnable {
+
+        private static final List<String> METRICS = List.of("jvm.threads.live", "jvm.memory.used?tag=area:heap",
+                "hikaricp.connections.pending");
+
+        private final long from;
+        private final long until;
+        private final Map<String, Double> peaks = new ConcurrentHashMap<>();
+
+        private ServerSampler(long from, long until) {
+            this.from = from;
+            this.until = until;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(Math.max(0, (from - System.nanoTime()) / 1_000_000));
+                while (System.nanoTime() < until) {
+                    for (String metric : METRICS) {
+                        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric))
+                                .GET().build());
+                        if (response.statusCode() == 200) {
+                            double value = MAPPER.readTree(response.body()).path("measurements").path(0).path("value").asDouble();
+                            peaks.merge(metric.replaceAll("\\?.*", ""), value, Math::max);
+                        }
+                    }
+                    Thread.sleep(1000);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                System.err.println("Server sampling stopped: " + e.getMessage());
+            }
+        }
+
+        double peak(String metric) {
+            return peaks.getOrDefault(metric, Double.NaN);
+        }
+    }
+
+    /** Hands out the body no faster than {@code bytesPerSecond}, like a client on a slow uplink. */
+    private static final class ThrottledInputStream extends InputStream {
+
+        private final byte[] data;
+        private final long bytesPerSecond;
+        private final long startedAt = System.nanoTime();
+        private int position;
+
+        private ThrottledInputStream(byte[] data, long bytesPerSecond) {
+            this.data = data;
+            this.bytesPerSecond = Math.max(1, bytesPerSecond);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position >= data.length) {
+                return -1;
+            }
+            long waitNanos = startedAt + position * 1_000_000_000L / bytesPerSecond - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            // About 50 ms worth of data per read
+            int count = Math.min(length, Math.min(data.length - position, (int) Math.max(1024, bytesPerSecond / 20)));
+            System.arraycopy(data, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
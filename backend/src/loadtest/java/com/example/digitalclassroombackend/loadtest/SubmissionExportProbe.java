@@ -0,0 +1,240 @@
+package com.example.digitalclassroombackend.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures {@code GET /api/assignments/{id}/submissions/export}. Creates an
+ * assignment as admin and has {@code load.files} freshly registered students
+ * submit a distinct random file each (skipped when {@code load.assignment-id}
+ * names an existing assignment), then downloads the export
+ * {@code load.rounds} times, unpacking it on the client to count entries.
+ * Reports export throughput and the server's heap while exporting.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dload.main=com.example.digitalclassroombackend.loadtest.SubmissionExportProbe \
+ *     -Dload.url=http://localhost:8080 -Dload.files=500 -Dload.file-bytes=262144
+ * </pre>
+ */
+public class SubmissionExportProbe {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("load.url", "http://localhost:8080");
+    private final int files = Integer.getInteger("load.files", 500);
+    private final int fileBytes = Integer.getInteger("load.file-bytes", 256 * 1024);
+    private final int rounds = Integer.getInteger("load.rounds", 3);
+    private final int concurrency = Integer.getInteger("load.concurrency", 16);
+    private final String adminPassword = System.getProperty("load.admin-password", "123");
+    private final Long assignmentId = Long.getLong("load.assignment-id");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        new SubmissionExportProbe().run();
+    }
+
+    private void run() throws Exception {
+        String token = login("admin", adminPassword);
+        long id = assignmentId != null ? assignmentId : prepareAssignment(token);
+        System.out.printf("Exporting assignment %d x %d rounds against %s%n", id, rounds, baseUrl);
+
+        HeapSampler heap = new HeapSampler(client, baseUrl);
+        heap.start();
+        long served = 0;
+        int entries = 0;
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            long[] result = export(token, id);
+            served += result[0];
+            entries = (int) result[1];
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        heap.stop();
+
+        System.out.printf("Exported %d entries per archive, %,d bytes in %.1fs (%.1f MB/s, %.2fs per export)%n",
+                entries, served, seconds, served / seconds / (1 << 20), seconds / rounds);
+        heap.print(served);
+    }
+
+    private long prepareAssignment(String token) throws Exception {
+        String runId = Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xffffffL);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", "Export probe " + runId);
+        fields.put("description", "Export probe");
+        fields.put("subject", "Probe");
+        fields.put("classSemester", "Probe");
+        fields.put("accessType", "ALL_CLASS");
+        fields.put("assignedStudents", "[]");
+        fields.put("instructions", "Upload anything");
+        fields.put("submissionType", "FILE");
+        fields.put("maxFileSize", "10");
+        fields.put("allowedFileTypes", "bin,txt");
+        fields.put("dueDate", "2099-01-01T00:00:00");
+        fields.put("lateSubmissionPolicy", "ACCEPT");
+        fields.put("totalMarks", "100");
+        HttpResponse<String> created = postMultipart("/api/assignments", token, fields, null, null);
+        if (created.statusCode() != 200) {
+            throw new IllegalStateException("Create assignment failed (" + created.statusCode() + "): " + created.body());
+        }
+        long found = -1;
+        for (JsonNode assignment : MAPPER.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/assignments"))
+                .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString()).body())) {
+            if (fields.get("title").equals(assignment.path("title").asText())) {
+                found = assignment.path("id").asLong();
+            }
+        }
+        long id = found;
+
+        System.out.printf("Submitting %d files of %d bytes to assignment %d...%n", files, fileBytes, id);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            String username = "export-" + runId + "-" + i;
+            results.add(pool.submit(() -> submit(id, username)));
+        }
+        int failures = 0;
+        for (Future<Integer> result : results) {
+            if (result.get() != 200) {
+                failures++;
+            }
+        }
+        pool.shutdown();
+        if (failures > 0) {
+            System.out.println(failures + " submissions failed");
+        }
+        return id;
+    }
+
+    private int submit(long id, String username) throws IOException, InterruptedException {
+        Map<String, Object> user = Map.of("username", username, "password", "pw", "email", username + "@probe.local",
+                "role", "STUDENT", "classSemester", "Probe");
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(user)))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        // Random bytes: distinct blobs that deflate cannot shrink, the worst case for the export
+        byte[] content = new byte[fileBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("assignmentId", Long.toString(id));
+        fields.put("username", username);
+        return postMultipart("/api/assignments/submit", null, fields, username + ".bin", content).statusCode();
+    }
+
+    // Returns {bytes received, entries in the archive}
+    private long[] export(String token, long id) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/assignments/" + id + "/submissions/export"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Export returned " + response.statusCode());
+        }
+        CountingInputStream counting = new CountingInputStream(response.body());
+        long entries = 0;
+        try (ZipInputStream zip = new ZipInputStream(counting)) {
+            byte[] buffer = new byte[64 * 1024];
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                while (zip.read(buffer) != -1) {
+                    // drain
+                }
+                if (!entry.getName().startsWith("_")) {
+                    entries++;
+                }
+            }
+            // Trailing central directory
+            counting.transferTo(OutputStream.nullOutputStream());
+        }
+        return new long[] {counting.count, entries};
+    }
+
+    private HttpResponse<String> postMultipart(String path, String token, Map<String, String> fields,
+                                               String fileName, byte[] content) throws IOException, InterruptedException {
+        String boundary = "----probe" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n"
+                    + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        if (content != null) {
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                    + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(content);
+            body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("username", username, "password", password))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body()).path("token").asText();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -6,12 +6,14 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.digitalclassroombackend.model.User;
 import com.example.digitalclassroombackend.repository.UserRepository;
 
 @SpringBootApplication
+@EnableScheduling
 public class DigitalClassroomBackendApplication {
 
 	public static void main(String[] args) {
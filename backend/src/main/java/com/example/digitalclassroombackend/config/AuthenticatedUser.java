@@ -0,0 +1,85 @@
+package com.example.digitalclassroombackend.config;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.digitalclassroombackend.model.User;
+
+/**
+ * Immutable snapshot of the fields controllers need about the caller. The JWT
+ * filter stores it as the authentication principal, so controllers can read
+ * the user id, role and class/semester without loading the {@link User}.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final User.Role role;
+    private final String status;
+    private final String classSemester;
+    private final List<GrantedAuthority> authorities;
+
+    private AuthenticatedUser(Long id, String username, User.Role role, String status, String classSemester) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.status = status;
+        this.classSemester = classSemester;
+        this.authorities = role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role.name())) : List.of();
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), user.getStatus(), user.getClassSemester());
+    }
+
+    // The caller resolved by JwtRequestFilter, or null for anonymous requests
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+
+    public boolean hasRole(User.Role expected) {
+        return role == expected;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getClassSemester() {
+        return classSemester;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    // Tokens are already verified; the password hash is deliberately not kept in memory
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.digitalclassroombackend.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records per-endpoint SQL statement counts and multipart upload bytes.
+ * Latency histograms come from Spring's own {@code http.server.requests} timer.
+ * For async handlers (e.g. login) the statements of the first dispatch are
+ * carried over to the async dispatch, which may run on another thread.
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STATEMENTS_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.reset();
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // uploads were counted on the first dispatch
+        }
+        if (request instanceof MultipartHttpServletRequest multipart) {
+            long bytes = 0;
+            for (MultipartFile file : multipart.getFileMap().values()) {
+                bytes += file.getSize();
+            }
+            Counter.builder("classroom.upload.bytes")
+                    .description("Bytes received in multipart file uploads")
+                    .baseUnit("bytes")
+                    .tag("uri", uri(request))
+                    .register(meterRegistry)
+                    .increment(bytes);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // afterCompletion only runs after the async dispatch, so keep this dispatch's count on the request
+        request.setAttribute(STATEMENTS_ATTRIBUTE, QueryCountInspector.current());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = QueryCountInspector.current();
+        if (request.getAttribute(STATEMENTS_ATTRIBUTE) instanceof Integer earlier) {
+            statements += earlier;
+        }
+        DistributionSummary.builder("classroom.sql.statements.per.request")
+                .description("SQL statements Hibernate prepared while handling one request")
+                .tag("uri", uri(request))
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(500.0)
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        // Use the mapping template (e.g. /api/notes/download/{id}) to keep tag cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.digitalclassroombackend.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Makes sure {@code submissions} has its one-submission-per-student unique
+ * index before the app serves requests. {@code ddl-auto=update} only logs a
+ * failed {@code ALTER TABLE}, which happens on databases that already hold
+ * duplicate (assignment_id, submitted_by) rows from before the constraint;
+ * submits would then be guarded by the racy existence check alone.
+ *
+ * A missing index is created here when the data allows it. Duplicates are
+ * not deleted automatically (they may carry grades), so startup fails and
+ * names the rows to resolve instead.
+ */
+@Component
+public class SubmissionConstraintCheck {
+
+    private static final String CONSTRAINT = "uk_submissions_assignment_student";
+    private static final Set<String> COLUMNS = Set.of("assignment_id", "submitted_by");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The factory is injected so Hibernate's schema update has run before the check
+    public SubmissionConstraintCheck(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void verify() {
+        if (hasUniqueIndex()) {
+            return;
+        }
+        Integer duplicated = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT assignment_id, submitted_by FROM submissions "
+                + "GROUP BY assignment_id, submitted_by HAVING COUNT(*) > 1) d", Integer.class);
+        if (duplicated != null && duplicated > 0) {
+            throw new IllegalStateException("submissions has " + duplicated + " (assignment_id, submitted_by) pairs with more than "
+                    + "one row, so the unique constraint " + CONSTRAINT + " cannot be created. Keep one row per pair (see "
+                    + "SELECT assignment_id, submitted_by, COUNT(*) FROM submissions GROUP BY assignment_id, submitted_by "
+                    + "HAVING COUNT(*) > 1) and restart.");
+        }
+        jdbcTemplate.execute("ALTER TABLE submissions ADD CONSTRAINT " + CONSTRAINT + " UNIQUE (assignment_id, submitted_by)");
+        System.out.println("Created missing unique constraint " + CONSTRAINT);
+    }
+
+    private boolean hasUniqueIndex() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Unquoted names are stored upper case by H2 and lower case by PostgreSQL
+            for (String table : new String[] { "submissions", "SUBMISSIONS" }) {
+                if (uniqueIndexOn(metaData, connection.getCatalog(), table)) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+
+    private static boolean uniqueIndexOn(DatabaseMetaData metaData, String catalog, String table) throws SQLException {
+        Map<String, Set<String>> columnsByIndex = new HashMap<>();
+        try (ResultSet indexes = metaData.getIndexInfo(catalog, null, table, true, false)) {
+            while (indexes.next()) {
+                String index = indexes.getString("INDEX_NAME");
+                String column = indexes.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    columnsByIndex.computeIfAbsent(index, key -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columnsByIndex.containsValue(COLUMNS);
+    }
+}
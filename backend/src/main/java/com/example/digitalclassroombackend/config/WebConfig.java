@@ -3,12 +3,37 @@ package com.example.digitalclassroombackend.config;
 import java.nio.file.Paths;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import jakarta.persistence.EntityManagerFactory;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public WebConfig(RequestMetricsInterceptor requestMetricsInterceptor, EntityManagerFactory entityManagerFactory) {
+        this.requestMetricsInterceptor = requestMetricsInterceptor;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Open-in-view in place of Boot's (spring.jpa.open-in-view=false), minus login: its user lookup
+        // must release the pooled connection before the request waits for BCrypt. The ZIP export is
+        // excluded too, so a slow download does not pin a connection for the length of the transfer
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(openInView)
+                .excludePathPatterns("/api/auth/login", "/api/assignments/*/submissions/export");
+
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Serve files from uploads directory
@@ -15,10 +15,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.digitalclassroombackend.model.User;
-import com.example.digitalclassroombackend.repository.AssignmentRepository;
-import com.example.digitalclassroombackend.repository.QuizRepository;
-import com.example.digitalclassroombackend.repository.SubmissionRepository;
 import com.example.digitalclassroombackend.repository.UserRepository;
+import com.example.digitalclassroombackend.service.AdminStatisticsService;
+import com.example.digitalclassroombackend.service.BlobStore;
+import com.example.digitalclassroombackend.service.PrincipalCache;
+import com.example.digitalclassroombackend.service.QuizSubmissionIngestionService;
+import com.example.digitalclassroombackend.service.TeacherStatsService;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -26,16 +28,22 @@ import com.example.digitalclassroombackend.repository.UserRepository;
 public class AdminController {
 
     private final UserRepository userRepository;
-    private final QuizRepository quizRepository;
-    private final AssignmentRepository assignmentRepository;
-    private final SubmissionRepository submissionRepository;
+    private final TeacherStatsService teacherStatsService;
+    private final AdminStatisticsService adminStatisticsService;
+    private final QuizSubmissionIngestionService quizSubmissionIngestionService;
+    private final PrincipalCache principalCache;
+    private final BlobStore blobStore;
 
-    public AdminController(UserRepository userRepository, QuizRepository quizRepository,
-                          AssignmentRepository assignmentRepository, SubmissionRepository submissionRepository) {
+    public AdminController(UserRepository userRepository, TeacherStatsService teacherStatsService,
+                          AdminStatisticsService adminStatisticsService,
+                          QuizSubmissionIngestionService quizSubmissionIngestionService, PrincipalCache principalCache,
+                          BlobStore blobStore) {
         this.userRepository = userRepository;
-        this.quizRepository = quizRepository;
-        this.assignmentRepository = assignmentRepository;
-        this.submissionRepository = submissionRepository;
+        this.teacherStatsService = teacherStatsService;
+        this.adminStatisticsService = adminStatisticsService;
+        this.quizSubmissionIngestionService = quizSubmissionIngestionService;
+        this.principalCache = principalCache;
+        this.blobStore = blobStore;
     }
 
     @GetMapping("/users")
@@ -54,32 +62,30 @@ public class AdminController {
 
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Long>> getStatistics() {
-        long totalTeachers = userRepository.findAll().stream()
-                .filter(user -> "TEACHER".equals(user.getRole().name()) && "APPROVED".equals(user.getStatus()))
-                .count();
-        long totalStudents = userRepository.findAll().stream()
-                .filter(user -> "STUDENT".equals(user.getRole().name()) && "APPROVED".equals(user.getStatus()))
-                .count();
-        long activeUsers = userRepository.findAll().stream()
-                .filter(user -> "APPROVED".equals(user.getStatus()))
-                .count();
-        long pendingApprovals = userRepository.findAll().stream()
-                .filter(user -> "PENDING".equals(user.getStatus()))
-                .count();
-        long totalQuizzes = quizRepository.count();
-        long totalAssignments = assignmentRepository.count();
-        long totalSubmissions = submissionRepository.count();
-
-        Map<String, Long> stats = Map.of(
-                "totalTeachers", totalTeachers,
-                "totalStudents", totalStudents,
-                "activeUsers", activeUsers,
-                "pendingApprovals", pendingApprovals,
-                "totalQuizzes", totalQuizzes,
-                "totalAssignments", totalAssignments,
-                "totalSubmissions", totalSubmissions
-        );
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(adminStatisticsService.getStatistics());
+    }
+
+    @GetMapping("/ingestion/quiz-submissions")
+    public ResponseEntity<Map<String, Object>> getQuizSubmissionIngestion() {
+        return ResponseEntity.ok(quizSubmissionIngestionService.getMetrics());
+    }
+
+    @GetMapping("/storage/blobs")
+    public ResponseEntity<Map<String, Object>> getBlobStorage() {
+        return ResponseEntity.ok(blobStore.getMetrics());
+    }
+
+    @PostMapping("/storage/blobs/gc")
+    public ResponseEntity<Map<String, Object>> collectBlobGarbage() {
+        // Runs the same pass as the scheduled collector
+        return ResponseEntity.ok(blobStore.collectGarbage());
+    }
+
+    @PostMapping("/teacher-stats/rebuild")
+    public ResponseEntity<?> rebuildTeacherStats() {
+        // Recompute teacher dashboard counters from scratch (repairs drift)
+        teacherStatsService.rebuild();
+        return ResponseEntity.ok("Teacher statistics rebuilt");
     }
 
     @PostMapping("/users/{userId}/approve")
@@ -91,6 +97,8 @@ public class AdminController {
         user.setStatus("APPROVED");
         user.setApprovedAt(LocalDateTime.now());
         userRepository.save(user);
+        adminStatisticsService.invalidate();
+        principalCache.invalidate(user.getUsername());
         return ResponseEntity.ok("User approved successfully");
     }
 
@@ -102,6 +110,8 @@ public class AdminController {
         }
         user.setStatus("REJECTED");
         userRepository.save(user);
+        adminStatisticsService.invalidate();
+        principalCache.invalidate(user.getUsername());
         return ResponseEntity.ok("User rejected");
     }
 
@@ -116,6 +126,8 @@ public class AdminController {
             user.setApprovedAt(LocalDateTime.now());
         }
         userRepository.save(user);
+        adminStatisticsService.invalidate();
+        principalCache.invalidate(user.getUsername());
         return ResponseEntity.ok("User activated successfully");
     }
 
@@ -129,6 +141,8 @@ public class AdminController {
         // Looking at frontend, for approved users, deactivate button, so perhaps set to REJECTED.
         user.setStatus("REJECTED");
         userRepository.save(user);
+        adminStatisticsService.invalidate();
+        principalCache.invalidate(user.getUsername());
         return ResponseEntity.ok("User deactivated");
     }
 
@@ -147,6 +161,8 @@ public class AdminController {
             user.setRole(User.Role.STUDENT);
         }
         userRepository.save(user);
+        adminStatisticsService.invalidate();
+        principalCache.invalidate(user.getUsername());
         return ResponseEntity.ok("User role updated successfully");
     }
 }
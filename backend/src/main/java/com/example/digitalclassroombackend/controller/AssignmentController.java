@@ -1,10 +1,7 @@
 package com.example.digitalclassroombackend.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -15,6 +12,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -28,8 +26,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.digitalclassroombackend.config.AuthenticatedUser;
 import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.FileBlob;
 import com.example.digitalclassroombackend.model.Grades;
 import com.example.digitalclassroombackend.model.Submission;
 import com.example.digitalclassroombackend.model.User;
@@ -39,6 +40,12 @@ import com.example.digitalclassroombackend.repository.AssignmentRepository;
 import com.example.digitalclassroombackend.repository.GradesRepository;
 import com.example.digitalclassroombackend.repository.SubmissionRepository;
 import com.example.digitalclassroombackend.repository.UserRepository;
+import com.example.digitalclassroombackend.service.BlobStore;
+import com.example.digitalclassroombackend.service.ChunkedUploadService;
+import com.example.digitalclassroombackend.service.SearchIndex;
+import com.example.digitalclassroombackend.service.SubmissionExportService;
+import com.example.digitalclassroombackend.service.SubmissionFeedService;
+import com.example.digitalclassroombackend.service.SubmissionSimilarityService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 @RestController
@@ -58,6 +65,24 @@ public class AssignmentController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SubmissionFeedService submissionFeedService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private SubmissionExportService submissionExportService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private SubmissionSimilarityService submissionSimilarityService;
+
     @GetMapping
     public List<Assignment> getAllAssignments() {
         return assignmentRepository.findAll();
@@ -65,75 +90,19 @@ public class AssignmentController {
 
     @GetMapping("/student/assignments")
     public ResponseEntity<?> getStudentAssignments() {
-        System.out.println("=== STUDENT ASSIGNMENTS ENDPOINT CALLED ===");
         try {
-            // Get current authenticated user
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            System.out.println("Authentication object: " + authentication);
-
-            if (authentication == null) {
-                System.out.println("No authentication found");
-                return ResponseEntity.status(401).body("Not authenticated");
-            }
-
-            String username = authentication.getName();
-            System.out.println("Username from auth: " + username);
-
-            User user = userRepository.findByUsername(username).orElse(null);
-            System.out.println("User found: " + (user != null));
-
+            // Current caller, resolved by the JWT filter from the principal cache
+            AuthenticatedUser user = AuthenticatedUser.current();
             if (user == null) {
-                System.out.println("User not found for username: " + username);
                 return ResponseEntity.status(403).body("User not found");
             }
 
-            System.out.println("User role: " + user.getRole());
-            if (!"STUDENT".equals(user.getRole().name())) {
-                System.out.println("User is not a student, role: " + user.getRole().name());
+            if (!user.hasRole(User.Role.STUDENT)) {
                 return ResponseEntity.status(403).body("Access denied - not a student");
             }
 
-            System.out.println("Fetching assignments for student: " + username);
-            System.out.println("Student classSemester: " + user.getClassSemester());
-
-            // Get all assignments and filter based on access rules
-            List<Assignment> allAssignments = assignmentRepository.findAll();
-            System.out.println("Total assignments in DB: " + allAssignments.size());
-
-            List<Assignment> accessibleAssignments = new ArrayList<>();
-
-            for (Assignment assignment : allAssignments) {
-                System.out.println("Checking assignment: " + assignment.getTitle() +
-                                 ", accessType: " + assignment.getAccessType() +
-                                 ", classSemester: " + assignment.getClassSemester());
-
-                boolean canAccess = false;
-
-                if ("ALL_CLASS".equals(assignment.getAccessType())) {
-                    // Check if student's class/semester matches the assignment's class/semester
-                    canAccess = user.getClassSemester() != null &&
-                               user.getClassSemester().equals(assignment.getClassSemester());
-                    System.out.println("ALL_CLASS check: user classSemester=" + user.getClassSemester() +
-                                     ", assignment classSemester=" + assignment.getClassSemester() +
-                                     ", canAccess=" + canAccess);
-                } else if ("SELECTED_STUDENTS".equals(assignment.getAccessType())) {
-                    // Check if student is in the assigned students list
-                    canAccess = assignment.getAssignedStudents() != null &&
-                               assignment.getAssignedStudents().contains(user);
-                    System.out.println("SELECTED_STUDENTS check: assignedStudents size=" +
-                                     (assignment.getAssignedStudents() != null ? assignment.getAssignedStudents().size() : 0) +
-                                     ", contains user=" + canAccess);
-                }
-
-                if (canAccess) {
-                    accessibleAssignments.add(assignment);
-                    System.out.println("Assignment accessible: " + assignment.getTitle());
-                } else {
-                    System.out.println("Assignment NOT accessible: " + assignment.getTitle());
-                }
-            }
-
-            System.out.println("Total accessible assignments: " + accessibleAssignments.size());
+            // Access rules (ALL_CLASS by class/semester, SELECTED_STUDENTS by roster) are evaluated in the database
+            List<Assignment> accessibleAssignments = assignmentRepository.findVisibleToStudent(user.getId(), user.getClassSemester());
             return ResponseEntity.ok(accessibleAssignments);
         } catch (Exception e) {
             System.err.println("Error fetching assignments: " + e.getMessage());
@@ -145,11 +114,15 @@ public class AssignmentController {
     public ResponseEntity<?> submitAssignment(
             @RequestParam("assignmentId") Long assignmentId,
             @RequestParam("username") String username,
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "uploadId", required = false) String uploadId) {
 
         if (username == null || username.trim().isEmpty()) {
             return ResponseEntity.badRequest().body("Username is required");
         }
+        if ((file == null || file.isEmpty()) && uploadId == null) {
+            return ResponseEntity.badRequest().body("A file or uploadId is required");
+        }
 
         Assignment assignment = assignmentRepository.findById(assignmentId).orElse(null);
         if (assignment == null) return ResponseEntity.badRequest().body("Assignment not found");
@@ -159,42 +132,47 @@ public class AssignmentController {
             return ResponseEntity.badRequest().body("User not found");
         }
 
-        // Check if user has already submitted this assignment
-        boolean alreadySubmitted = submissionRepository.findAll().stream()
-            .anyMatch(s -> s.getAssignment().getId().equals(assignmentId) &&
-                          s.getSubmittedBy().getId().equals(user.getId()));
-
-        if (alreadySubmitted) {
-            return ResponseEntity.badRequest().body("You have already submitted this assignment");
+        // Check if user has already submitted this assignment (fast path; the unique constraint is authoritative)
+        if (submissionRepository.existsByAssignmentIdAndSubmittedById(assignmentId, user.getId())) {
+            return ResponseEntity.status(409).body("You have already submitted this assignment");
         }
 
         try {
-            // Handle file upload
-            String uploadDir = "backend/uploads/submissions/";
-            java.nio.file.Path uploadPath = java.nio.file.Paths.get(uploadDir);
-            if (!java.nio.file.Files.exists(uploadPath)) {
-                java.nio.file.Files.createDirectories(uploadPath);
-            }
-
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            String uniqueFilename = System.currentTimeMillis() + "_" + username + "_" + originalFilename;
-
-            java.nio.file.Path filePath = uploadPath.resolve(uniqueFilename);
-            java.nio.file.Files.copy(file.getInputStream(), filePath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-
             // Create submission
             Submission submission = new Submission();
             submission.setAssignment(assignment);
             submission.setSubmittedBy(user);
-            submission.setFilePath(filePath.toString());
-            submission.setFileName(originalFilename);
-            submission.setFileType(file.getContentType());
+            if (uploadId != null) {
+                // A committed chunked upload, already in the blob store
+                ChunkedUploadService.Attachment upload = chunkedUploadService.claim(uploadId, user.getId());
+                submission.setFilePath(upload.getBlob().getStoragePath());
+                submission.setBlobHash(upload.getBlob().getHash());
+                submission.setFileName(upload.getFileName());
+                submission.setFileType(upload.getContentType());
+            } else {
+                // Stored by content hash; a resubmitted identical file reuses the existing blob
+                FileBlob blob = blobStore.store(file);
+                submission.setFilePath(blob.getStoragePath());
+                submission.setBlobHash(blob.getHash());
+                submission.setFileName(file.getOriginalFilename());
+                submission.setFileType(file.getContentType());
+            }
             submission.setSubmitDate(java.time.LocalDateTime.now());
             submissionRepository.save(submission);
+            if (uploadId != null) {
+                chunkedUploadService.release(uploadId);
+            }
+            // Signature for plagiarism screening is computed in the background
+            submissionSimilarityService.submit(submission.getId());
 
             return ResponseEntity.ok("Assignment submitted successfully");
 
+        } catch (ChunkedUploadService.UploadException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for the same student and assignment won the insert; the unreferenced blob is left to GC
+            return ResponseEntity.status(409).body("You have already submitted this assignment");
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body("Failed to save file: " + e.getMessage());
         }
@@ -215,7 +193,8 @@ public class AssignmentController {
             @RequestParam("dueDate") String dueDate,
             @RequestParam("lateSubmissionPolicy") String lateSubmissionPolicy,
             @RequestParam("totalMarks") Integer totalMarks,
-            @RequestParam(value = "file", required = false) MultipartFile file) {
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "uploadId", required = false) String uploadId) {
 
         try {
             // Get current authenticated user (teacher)
@@ -251,17 +230,17 @@ public class AssignmentController {
             }
 
             // Handle file upload
-            if (file != null && !file.isEmpty()) {
-                String fileName = file.getOriginalFilename();
-                String uploadDir = "uploads/assignments/";
-                Path uploadPath = Paths.get(uploadDir);
-                if (!Files.exists(uploadPath)) {
-                    Files.createDirectories(uploadPath);
-                }
-                Path filePath = uploadPath.resolve(fileName);
-                Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                assignment.setFilePath(filePath.toString());
-                assignment.setFileName(fileName);
+            if (uploadId != null) {
+                ChunkedUploadService.Attachment upload = chunkedUploadService.claim(uploadId, teacher.getId());
+                assignment.setFilePath(upload.getBlob().getStoragePath());
+                assignment.setBlobHash(upload.getBlob().getHash());
+                assignment.setFileName(upload.getFileName());
+                assignment.setFileType(upload.getContentType());
+            } else if (file != null && !file.isEmpty()) {
+                FileBlob blob = blobStore.store(file);
+                assignment.setFilePath(blob.getStoragePath());
+                assignment.setBlobHash(blob.getHash());
+                assignment.setFileName(file.getOriginalFilename());
                 assignment.setFileType(file.getContentType());
             }
 
@@ -283,9 +262,15 @@ public class AssignmentController {
 
             // Save assignment
             assignmentRepository.save(assignment);
+            if (uploadId != null) {
+                chunkedUploadService.release(uploadId);
+            }
+            searchIndex.add(assignment);
 
             return ResponseEntity.ok("Assignment created successfully");
 
+        } catch (ChunkedUploadService.UploadException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
         } catch (JsonProcessingException e) {
             return ResponseEntity.badRequest().body("Invalid student selection format");
         } catch (IOException e) {
@@ -297,56 +282,59 @@ public class AssignmentController {
 
     @GetMapping("/submissions")
     public List<Map<String, Object>> getAllSubmissions() {
-        return submissionRepository.findAll().stream().map(submission -> {
-            Map<String, Object> submissionMap = new java.util.HashMap<>();
-
-            // Basic submission info
-            submissionMap.put("id", submission.getId());
-            submissionMap.put("filePath", submission.getFilePath());
-            submissionMap.put("fileName", submission.getFileName());
-            submissionMap.put("fileType", submission.getFileType());
-            submissionMap.put("submitDate", submission.getSubmitDate());
-
-            // Get grade from Grades table instead of submission
-            Grades grade = gradesRepository.findBySubmission(submission);
-            if (grade != null) {
-                submissionMap.put("grade", grade.getMarks());
-                submissionMap.put("feedback", grade.getFeedback());
-                submissionMap.put("gradeStatus", grade.getStatus().toString());
-                submissionMap.put("gradedAt", grade.getGradedAt());
-                submissionMap.put("publishedAt", grade.getPublishedAt());
-            } else {
-                submissionMap.put("grade", null);
-                submissionMap.put("feedback", null);
-                submissionMap.put("gradeStatus", "PENDING");
-                submissionMap.put("gradedAt", null);
-                submissionMap.put("publishedAt", null);
-            }
+        // One query over submission, assignment, student and grade, ascending ids; use /submissions/feed for paging
+        return submissionFeedService.getAll();
+    }
 
-            // Assignment details
-            Map<String, Object> assignmentMap = new java.util.HashMap<>();
-            assignmentMap.put("id", submission.getAssignment().getId());
-            assignmentMap.put("title", submission.getAssignment().getTitle());
-            assignmentMap.put("totalMarks", submission.getAssignment().getTotalMarks());
-            assignmentMap.put("dueDate", submission.getAssignment().getDueDate());
-            submissionMap.put("assignment", assignmentMap);
-
-            // Student details
-            Map<String, Object> studentMap = new java.util.HashMap<>();
-            studentMap.put("id", submission.getSubmittedBy().getId());
-            studentMap.put("username", submission.getSubmittedBy().getUsername());
-            studentMap.put("email", submission.getSubmittedBy().getEmail());
-            submissionMap.put("submittedBy", studentMap);
-
-            // Check if late submission
-            boolean isLate = false;
-            if (submission.getAssignment().getDueDate() != null) {
-                isLate = submission.getSubmitDate().isAfter(submission.getAssignment().getDueDate());
+    @GetMapping("/submissions/feed")
+    public ResponseEntity<?> getSubmissionsFeed(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Long assignmentId,
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(required = false) String gradeStatus,
+            @RequestParam(required = false) Boolean late,
+            @RequestParam(required = false) Integer limit) {
+        Grades.GradeStatus status = null;
+        if (gradeStatus != null && !gradeStatus.isEmpty()) {
+            try {
+                status = Grades.GradeStatus.valueOf(gradeStatus.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Invalid grade status: " + gradeStatus);
             }
-            submissionMap.put("isLateSubmission", isLate);
+        }
+        return ResponseEntity.ok(submissionFeedService.getPage(cursor, assignmentId, teacherId, status, late, limit));
+    }
+
+    @GetMapping("/{assignmentId}/submissions/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(@PathVariable Long assignmentId) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return exportError(401, "User not authenticated");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId).orElse(null);
+        if (assignment == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean owner = assignment.getCreatedBy() != null && assignment.getCreatedBy().getId().equals(user.getId());
+        if (!owner && !user.hasRole(User.Role.SUPER_ADMIN)) {
+            return exportError(403, "You can only export submissions for assignments you created");
+        }
+
+        // Rows are read here; the path is excluded from open-in-view, so no connection is held while streaming
+        List<Object[]> rows = submissionExportService.loadRows(assignmentId);
+        // Streamed entry by entry from disk on an async thread; no Content-Length, the response is chunked
+        StreamingResponseBody body = out -> submissionExportService.writeZip(rows, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header("Content-Disposition", "attachment; filename=\"assignment-" + assignmentId + "-submissions.zip\"")
+                .body(body);
+    }
 
-            return submissionMap;
-        }).collect(java.util.stream.Collectors.toList());
+    // Streaming endpoints must declare StreamingResponseBody, so plain-text errors are written through one too
+    private static ResponseEntity<StreamingResponseBody> exportError(int status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
     }
 
     @GetMapping("/submissions/{id}")
@@ -406,6 +394,30 @@ public class AssignmentController {
         return ResponseEntity.ok(submissionMap);
     }
 
+    @GetMapping("/{assignmentId}/similarity")
+    public ResponseEntity<?> getSubmissionSimilarity(@PathVariable Long assignmentId,
+                                                     @RequestParam(required = false) Double threshold) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId).orElse(null);
+        if (assignment == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean owner = assignment.getCreatedBy() != null && assignment.getCreatedBy().getId().equals(user.getId());
+        if (!owner && !user.hasRole(User.Role.SUPER_ADMIN)) {
+            return ResponseEntity.status(403).body("You can only check submissions for assignments you created");
+        }
+        double minSimilarity = threshold != null ? threshold : SubmissionSimilarityService.DEFAULT_THRESHOLD;
+        if (!(minSimilarity > 0 && minSimilarity <= 1)) {
+            return ResponseEntity.badRequest().body("threshold must be between 0 and 1");
+        }
+
+        // Candidate pairs come from LSH buckets over stored signatures; no files are read here
+        return ResponseEntity.ok(submissionSimilarityService.report(assignmentId, minSimilarity));
+    }
+
     @GetMapping("/{assignmentId}/rubric")
     public ResponseEntity<?> getAssignmentRubric(@PathVariable Long assignmentId) {
         Assignment assignment = assignmentRepository.findById(assignmentId).orElse(null);
@@ -441,4 +453,5 @@ public class AssignmentController {
 
         return ResponseEntity.ok(response);
     }
+
 }
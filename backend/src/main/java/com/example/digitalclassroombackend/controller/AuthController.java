@@ -1,11 +1,12 @@
 package com.example.digitalclassroombackend.controller;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +19,8 @@ import com.example.digitalclassroombackend.dto.JwtResponse;
 import com.example.digitalclassroombackend.dto.LoginRequest;
 import com.example.digitalclassroombackend.model.User;
 import com.example.digitalclassroombackend.repository.UserRepository;
+import com.example.digitalclassroombackend.service.AdminStatisticsService;
+import com.example.digitalclassroombackend.service.PasswordHashingService;
 import com.example.digitalclassroombackend.service.UserDetailsServiceImpl;
 import com.example.digitalclassroombackend.util.JwtUtil;
 
@@ -30,12 +33,18 @@ public class AuthController {
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final AdminStatisticsService adminStatisticsService;
+    private final PasswordHashingService passwordHashingService;
 
-    public AuthController(UserRepository userRepository, UserDetailsServiceImpl userDetailsService, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public AuthController(UserRepository userRepository, UserDetailsServiceImpl userDetailsService, JwtUtil jwtUtil,
+                          PasswordEncoder passwordEncoder, AdminStatisticsService adminStatisticsService,
+                          PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
+        this.adminStatisticsService = adminStatisticsService;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @PostMapping("/register")
@@ -50,26 +59,40 @@ public class AuthController {
         user.setCreatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        adminStatisticsService.invalidate();
         return ResponseEntity.ok("User registered successfully. Please wait for admin approval.");
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
         User user = userRepository.findByUsername(loginRequest.getUsername()).orElse(null);
         if (user == null) {
-            return ResponseEntity.badRequest().body("User not found");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("User not found"));
         }
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            return ResponseEntity.badRequest().body("Invalid credentials");
-        }
-        if (!"APPROVED".equals(user.getStatus())) {
-            return ResponseEntity.badRequest().body("Your account is pending admin approval");
+
+        // No open-in-view here (see WebConfig): the lookup above has already returned its connection.
+        // BCrypt runs on the hashing pool; the Tomcat thread is released until it completes
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = passwordHashingService.verify(user, loginRequest.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body("Too many login attempts in progress, please retry"));
         }
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), new ArrayList<>());
-        String token = jwtUtil.generateToken(userDetails);
-        String role = user.getRole().name();
-        String username = user.getUsername();
-        return ResponseEntity.ok(new JwtResponse(token, role, username));
+
+        return verification.thenApply(matches -> {
+            if (!matches) {
+                return ResponseEntity.badRequest().body("Invalid credentials");
+            }
+            if (!"APPROVED".equals(user.getStatus())) {
+                return ResponseEntity.badRequest().body("Your account is pending admin approval");
+            }
+            String token = jwtUtil.generateToken(user);
+            String role = user.getRole().name();
+            String username = user.getUsername();
+            return ResponseEntity.ok(new JwtResponse(token, role, username));
+        });
     }
 
     @GetMapping("/students")
@@ -102,6 +125,7 @@ public class AuthController {
         adminUser.setApprovedAt(LocalDateTime.now());
 
         userRepository.save(adminUser);
+        adminStatisticsService.invalidate();
         return ResponseEntity.ok("Admin user created successfully");
     }
 }
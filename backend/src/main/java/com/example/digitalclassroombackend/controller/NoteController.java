@@ -4,15 +4,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import java.util.Map;
-
+import org.apache.catalina.connector.ClientAbortException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -27,15 +26,24 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-
+import com.example.digitalclassroombackend.config.AuthenticatedUser;
+import com.example.digitalclassroombackend.dto.NoteUploadAccepted;
+import com.example.digitalclassroombackend.model.FileBlob;
 import com.example.digitalclassroombackend.model.Note;
 import com.example.digitalclassroombackend.model.User;
 import com.example.digitalclassroombackend.repository.NoteRepository;
 import com.example.digitalclassroombackend.repository.UserRepository;
+import com.example.digitalclassroombackend.service.BlobStore;
+import com.example.digitalclassroombackend.service.ChunkedUploadService;
+import com.example.digitalclassroombackend.service.NoteUploadService;
+import com.example.digitalclassroombackend.service.NoteVisibilityIndex;
+import com.example.digitalclassroombackend.service.SearchIndex;
+import com.example.digitalclassroombackend.util.FileStreamer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/api/notes")
 @CrossOrigin(origins = {"http://localhost:3000", "https://digital-classroom-*", "https://*.vercel.app", "https://*.vercel-preview.app"})
@@ -48,7 +56,19 @@ public class NoteController {
     private UserRepository userRepository;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private NoteVisibilityIndex noteVisibilityIndex;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private NoteUploadService noteUploadService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private SearchIndex searchIndex;
 
     @GetMapping("/notes")
     public List<Note> getAllNotes() {
@@ -58,36 +78,17 @@ public class NoteController {
     @GetMapping("/student/notes")
     public ResponseEntity<?> getStudentNotes() {
         try {
-            // Get current authenticated user
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userRepository.findByUsername(username).orElse(null);
+            // Current caller, resolved by the JWT filter from the principal cache
+            AuthenticatedUser user = AuthenticatedUser.current();
 
-            if (user == null || !"STUDENT".equals(user.getRole().name())) {
+            if (user == null || !user.hasRole(User.Role.STUDENT)) {
                 return ResponseEntity.status(403).body("Access denied");
             }
 
-            // Get all notes and filter based on access rules
-            List<Note> allNotes = noteRepository.findAll();
-            List<Note> accessibleNotes = new ArrayList<>();
-
-            for (Note note : allNotes) {
-                boolean canAccess = false;
-
-                if ("ALL_CLASS".equals(note.getAccessType())) {
-                    // Check if student's class/semester matches the note's class/semester
-                    canAccess = user.getClassSemester() != null &&
-                               user.getClassSemester().equals(note.getClassSemester());
-                } else if ("SELECTED_STUDENTS".equals(note.getAccessType())) {
-                    // Check if student is in the assigned students list
-                    canAccess = note.getAssignedStudents() != null &&
-                               note.getAssignedStudents().contains(user);
-                }
-
-                if (canAccess) {
-                    accessibleNotes.add(note);
-                }
-            }
+            // Resolve visible ids from the entitlement index, then load just those notes in one batch
+            List<Long> visibleIds = noteVisibilityIndex.visibleNoteIds(user.getId(), user.getClassSemester());
+            List<Note> accessibleNotes = new ArrayList<>(noteRepository.findAllById(visibleIds));
+            accessibleNotes.sort(Comparator.comparing(Note::getId));
 
             return ResponseEntity.ok(accessibleNotes);
         } catch (Exception e) {
@@ -96,12 +97,10 @@ public class NoteController {
     }
 
     @GetMapping("/download/{id}")
-    public ResponseEntity<?> downloadNote(@PathVariable Long id) throws IOException {
+    public ResponseEntity<?> downloadNote(@PathVariable Long id, HttpServletRequest request,
+                                          HttpServletResponse response) throws IOException {
         try {
-            // Get current authenticated user
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userRepository.findByUsername(username).orElse(null);
+            AuthenticatedUser user = AuthenticatedUser.current();
 
             if (user == null) {
                 return ResponseEntity.status(401).body("User not authenticated");
@@ -112,26 +111,8 @@ public class NoteController {
                 return ResponseEntity.notFound().build();
             }
 
-            // Allow authenticated users to download notes
-            // Students are already filtered to only see accessible notes via getStudentNotes
-            boolean canAccess = true;
-
-            // Only restrict access for non-authenticated users
-            if (user == null) {
-                canAccess = false;
-            }
-
-            if (!canAccess) {
-                return ResponseEntity.status(403).body("Access denied");
-            }
-
             // For Cloudinary-hosted files, redirect to the Cloudinary URL
-            System.out.println("Download attempt for note ID: " + id);
-            System.out.println("File URL: " + note.getFileUrl());
-            System.out.println("File path: " + note.getFilePath());
-
             if (note.getFileUrl() != null && !note.getFileUrl().isEmpty()) {
-                System.out.println("Redirecting to Cloudinary URL: " + note.getFileUrl());
                 return ResponseEntity.status(302)
                         .header("Location", note.getFileUrl())
                         .header("Content-Disposition", "attachment; filename=\"" + note.getFileName() + "\"")
@@ -140,26 +121,33 @@ public class NoteController {
 
             // Fallback: try local file (for backward compatibility)
             Path path = Paths.get(note.getFilePath());
-            System.out.println("Attempting to download local file: " + note.getFilePath());
-            System.out.println("File exists: " + Files.exists(path));
             if (!Files.exists(path)) {
-                System.out.println("File not found at path: " + path.toAbsolutePath());
                 return ResponseEntity.notFound().build();
             }
 
-            byte[] data = Files.readAllBytes(path);
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" + note.getFileName() + "\"")
-                    .contentType(MediaType.parseMediaType(note.getFileType() != null ? note.getFileType() : "application/octet-stream"))
-                    .body(data);
+            // Streamed straight from disk with Range / conditional GET support; blobs are tagged by content hash
+            String etag = note.getBlobHash() != null
+                    ? note.getBlobHash()
+                    : Long.toHexString(Files.size(path)) + "-" + Long.toHexString(Files.getLastModifiedTime(path).toMillis());
+            FileStreamer.stream(request, response, path, etag, note.getFileName(),
+                    note.getFileType() != null ? note.getFileType() : "application/octet-stream");
+            return null; // response already written
+        } catch (ClientAbortException e) {
+            // The client went away mid-transfer; nothing left to answer
+            throw e;
         } catch (Exception e) {
+            if (response.isCommitted()) {
+                // Headers and part of the body are out, so an error entity can no longer be sent
+                throw e;
+            }
             return ResponseEntity.status(500).body("Error downloading file: " + e.getMessage());
         }
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> createNote(
-            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "uploadId", required = false) String uploadId,
             @RequestParam("title") String title,
             @RequestParam(value = "description", required = false) String description,
             @RequestParam("subject") String subject,
@@ -177,6 +165,13 @@ public class NoteController {
                 return ResponseEntity.status(401).body("User not authenticated");
             }
 
+            // A note is a file: take it either inline or from a finished chunked upload, never both or neither
+            boolean hasFile = file != null && !file.isEmpty();
+            boolean hasUpload = uploadId != null && !uploadId.isBlank();
+            if (hasFile == hasUpload) {
+                return ResponseEntity.status(400).body("Provide either a non-empty file or an uploadId");
+            }
+
             Note note = new Note();
             note.setTitle(title);
             note.setDescription(description);
@@ -206,52 +201,43 @@ public class NoteController {
                 }
             }
 
-            // Handle file upload - try Cloudinary first, fallback to local storage
-            if (!file.isEmpty()) {
+            // Stage the file locally; the remote copy is uploaded in the background
+            if (hasUpload) {
                 try {
-                    String fileName = file.getOriginalFilename();
-
-                    // Try Cloudinary upload first
-                    try {
-                        Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                            ObjectUtils.asMap(
-                                "resource_type", "auto",
-                                "public_id", "notes/" + System.currentTimeMillis() + "_" + fileName
-                            ));
-
-                        String secureUrl = (String) uploadResult.get("secure_url");
-                        note.setFileUrl(secureUrl); // Use HTTPS URL
-                        note.setFilePath((String) uploadResult.get("public_id")); // Store public_id for reference
-                        note.setFileName(fileName);
-                        note.setFileType(file.getContentType() != null ? file.getContentType() : "application/octet-stream");
-
-                        System.out.println("File uploaded to Cloudinary: " + secureUrl);
-                    } catch (Exception cloudinaryException) {
-                        System.err.println("Cloudinary upload failed, falling back to local storage: " + cloudinaryException.getMessage());
-
-                        // Fallback to local storage
-                        String uploadDir = "uploads/";
-                        Path uploadPath = Paths.get(uploadDir);
-                        if (!Files.exists(uploadPath)) {
-                            Files.createDirectories(uploadPath);
-                        }
-                        Path filePath = uploadPath.resolve(fileName);
-                        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                        note.setFilePath(filePath.toString());
-                        note.setFileName(fileName);
-                        note.setFileType(file.getContentType() != null ? file.getContentType() : "application/octet-stream");
-
-                        System.out.println("File saved locally: " + filePath.toString());
-                    }
-                } catch (Exception e) {
-                    System.err.println("File upload failed completely: " + e.getMessage());
+                    ChunkedUploadService.Attachment upload = chunkedUploadService.claim(uploadId, user.getId());
+                    note.setFilePath(upload.getBlob().getStoragePath());
+                    note.setBlobHash(upload.getBlob().getHash());
+                    note.setFileName(upload.getFileName());
+                    note.setFileType(upload.getContentType());
+                    note.setUploadStatus("UPLOADING");
+                } catch (ChunkedUploadService.UploadException e) {
+                    return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+                }
+            } else {
+                try {
+                    FileBlob blob = blobStore.store(file);
+                    note.setFilePath(blob.getStoragePath());
+                    note.setBlobHash(blob.getHash());
+                    note.setFileName(file.getOriginalFilename());
+                    note.setFileType(file.getContentType() != null ? file.getContentType() : "application/octet-stream");
+                    note.setUploadStatus("UPLOADING");
+                } catch (IOException e) {
+                    System.err.println("File upload failed: " + e.getMessage());
                     return ResponseEntity.status(500).body("File upload failed: " + e.getMessage());
                 }
             }
 
-            noteRepository.save(note);
-            return ResponseEntity.ok("Note uploaded successfully");
+            Note savedNote = noteRepository.save(note);
+            if (hasUpload) {
+                chunkedUploadService.release(uploadId);
+            }
+            noteVisibilityIndex.add(savedNote);
+            searchIndex.add(savedNote);
+            if (savedNote.getBlobHash() != null) {
+                noteUploadService.submit(savedNote);
+            }
+            // Accepted: downloadable from the staged copy until the remote upload finishes
+            return ResponseEntity.status(202).body(NoteUploadAccepted.of(savedNote));
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Upload failed: " + e.getMessage());
         }
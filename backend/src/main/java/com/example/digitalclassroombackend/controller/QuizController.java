@@ -22,6 +22,9 @@ import com.example.digitalclassroombackend.repository.QuizOptionRepository;
 import com.example.digitalclassroombackend.repository.QuizQuestionRepository;
 import com.example.digitalclassroombackend.repository.QuizRepository;
 import com.example.digitalclassroombackend.repository.UserRepository;
+import com.example.digitalclassroombackend.service.QuizScoringService;
+import com.example.digitalclassroombackend.service.QuizSnapshotCache;
+import com.example.digitalclassroombackend.service.SearchIndex;
 
 @RestController
 @RequestMapping("/api/quizzes")
@@ -40,6 +43,15 @@ public class QuizController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Autowired
+    private QuizScoringService quizScoringService;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @GetMapping
     public List<Quiz> getAllQuizzes() {
         return quizRepository.findAll();
@@ -70,6 +82,7 @@ public class QuizController {
             }
 
             Quiz savedQuiz = quizRepository.save(quiz);
+            searchIndex.add(savedQuiz);
             return ResponseEntity.ok(savedQuiz);
         } catch (Exception e) {
             e.printStackTrace();
@@ -85,6 +98,8 @@ public class QuizController {
         }
         question.setQuiz(quiz);
         QuizQuestion savedQuestion = quizQuestionRepository.save(question);
+        quizSnapshotCache.invalidate(quizId);
+        quizScoringService.invalidate(quizId);
         return ResponseEntity.ok(savedQuestion);
     }
 
@@ -96,6 +111,10 @@ public class QuizController {
         }
         option.setQuestion(question);
         QuizOption savedOption = quizOptionRepository.save(option);
+        if (question.getQuiz() != null) {
+            quizSnapshotCache.invalidate(question.getQuiz().getId());
+            quizScoringService.invalidate(question.getQuiz().getId());
+        }
         return ResponseEntity.ok(savedOption);
     }
 
@@ -130,6 +149,8 @@ public class QuizController {
                 }
             }
 
+            quizSnapshotCache.invalidate(quizId);
+            quizScoringService.invalidate(quizId);
             return ResponseEntity.ok("Fixed " + fixedQuestions + " questions in quiz " + quizId);
 
         } catch (Exception e) {
@@ -0,0 +1,61 @@
+package com.example.digitalclassroombackend.controller;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.digitalclassroombackend.config.AuthenticatedUser;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.service.SearchIndex;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = {"http://localhost:3000", "https://digital-classroom-*", "https://*.vercel.app", "https://*.vercel-preview.app"})
+public class SearchController {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    // GET /api/search?q=...&type=notes|assignments|quizzes&limit=20
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+                                    @RequestParam(required = false) String type,
+                                    @RequestParam(required = false) Integer limit) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().body("Query is required");
+        }
+
+        SearchIndex.Type documentType = null;
+        if (type != null && !type.isBlank()) {
+            switch (type.toLowerCase(Locale.ROOT)) {
+                case "notes" -> documentType = SearchIndex.Type.NOTE;
+                case "assignments" -> documentType = SearchIndex.Type.ASSIGNMENT;
+                case "quizzes" -> documentType = SearchIndex.Type.QUIZ;
+                default -> {
+                    return ResponseEntity.badRequest().body("type must be notes, assignments or quizzes");
+                }
+            }
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        // Students only find what getStudentNotes / getStudentAssignments would show them
+        boolean student = user.hasRole(User.Role.STUDENT);
+        List<SearchIndex.Hit> hits = searchIndex.search(query, documentType, student ? user.getId() : null,
+                student ? user.getClassSemester() : null, size);
+        return ResponseEntity.ok(hits);
+    }
+}
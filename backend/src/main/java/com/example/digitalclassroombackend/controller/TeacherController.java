@@ -7,8 +7,6 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,40 +16,33 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.digitalclassroombackend.config.AuthenticatedUser;
 import com.example.digitalclassroombackend.model.Assignment;
 import com.example.digitalclassroombackend.model.Grades;
 import com.example.digitalclassroombackend.model.Submission;
 import com.example.digitalclassroombackend.model.User;
-import com.example.digitalclassroombackend.repository.AssignmentRepository;
 import com.example.digitalclassroombackend.repository.GradesRepository;
-import com.example.digitalclassroombackend.repository.NoteRepository;
-import com.example.digitalclassroombackend.repository.QuizRepository;
 import com.example.digitalclassroombackend.repository.SubmissionRepository;
 import com.example.digitalclassroombackend.repository.UserRepository;
+import com.example.digitalclassroombackend.service.TeacherStatsService;
 
 @RestController
 @RequestMapping("/api/teacher")
 @CrossOrigin(origins = {"http://localhost:3000", "https://digital-classroom-*", "https://*.vercel.app", "https://*.vercel-preview.app"})
 public class TeacherController {
 
-    @Autowired
-    private AssignmentRepository assignmentRepository;
-
     @Autowired
     private GradesRepository gradesRepository;
 
-    @Autowired
-    private NoteRepository noteRepository;
-
-    @Autowired
-    private QuizRepository quizRepository;
-
     @Autowired
     private SubmissionRepository submissionRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TeacherStatsService teacherStatsService;
+
     @GetMapping("/stats")
     public Map<String, Long> getTeacherStats(@RequestParam(required = false) String username) {
         // Find the teacher
@@ -72,46 +63,16 @@ public class TeacherController {
             return emptyStats;
         }
 
-        final Long teacherId = teacher.getId();
-        Map<String, Long> stats = new java.util.HashMap<>();
-
-        // Filter notes by teacher
-        long notesCount = noteRepository.findAll().stream()
-            .filter(note -> note.getUploadedBy() != null && note.getUploadedBy().getId().equals(teacherId))
-            .count();
-        stats.put("notesCount", notesCount);
-
-        // Filter assignments by teacher
-        long assignmentsCount = assignmentRepository.findAll().stream()
-            .filter(assignment -> assignment.getCreatedBy() != null && assignment.getCreatedBy().getId().equals(teacherId))
-            .count();
-        stats.put("assignmentsCount", assignmentsCount);
-
-        // Filter quizzes by teacher
-        long quizzesCount = quizRepository.findAll().stream()
-            .filter(quiz -> quiz.getCreatedBy() != null && quiz.getCreatedBy().getId().equals(teacherId))
-            .count();
-        stats.put("quizzesCount", quizzesCount);
-
-        // Count submissions for assignments created by this teacher
-        long submissionsCount = submissionRepository.findAll().stream()
-            .filter(submission -> submission.getAssignment() != null &&
-                               submission.getAssignment().getCreatedBy() != null &&
-                               submission.getAssignment().getCreatedBy().getId().equals(teacherId))
-            .count();
-        stats.put("submissionsCount", submissionsCount);
-
-        return stats;
+        // Counters are maintained incrementally in teacher_stats, so this is a primary-key read
+        return teacherStatsService.getStats(teacher.getId());
     }
 
     // Grading endpoints
     @PostMapping("/grades")
     public ResponseEntity<?> submitGrade(@RequestBody Map<String, Object> requestData) {
         try {
-            // Get current authenticated user (teacher)
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User teacher = userRepository.findByUsername(username).orElse(null);
+            // Current caller (teacher), resolved by the JWT filter from the principal cache
+            AuthenticatedUser teacher = AuthenticatedUser.current();
 
             if (teacher == null) {
                 return ResponseEntity.status(401).body("User not authenticated");
@@ -212,10 +173,8 @@ public class TeacherController {
     @PostMapping("/grades/{gradeId}/reject")
     public ResponseEntity<?> rejectSubmission(@PathVariable Long gradeId, @RequestBody Map<String, Object> requestData) {
         try {
-            // Get current authenticated user (teacher)
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User teacher = userRepository.findByUsername(username).orElse(null);
+            // Current caller (teacher), resolved by the JWT filter from the principal cache
+            AuthenticatedUser teacher = AuthenticatedUser.current();
 
             if (teacher == null) {
                 return ResponseEntity.status(401).body("User not authenticated");
@@ -0,0 +1,123 @@
+package com.example.digitalclassroombackend.controller;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.digitalclassroombackend.config.AuthenticatedUser;
+import com.example.digitalclassroombackend.model.UploadSession;
+import com.example.digitalclassroombackend.service.ChunkedUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resumable chunked uploads. {@code POST /api/uploads} starts a session,
+ * {@code PUT /api/uploads/{id}/chunks/{n}} sends chunk n as an
+ * {@code application/octet-stream} body with its SHA-256 in
+ * {@code X-Chunk-SHA256}, {@code GET} tells a reconnecting client which chunk
+ * to send next, and {@code POST .../commit} completes the file. The returned id is then passed as {@code uploadId}
+ * instead of {@code file} when creating a note, assignment or submission.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin(origins = {"http://localhost:3000", "https://digital-classroom-*", "https://*.vercel.app", "https://*.vercel-preview.app"})
+public class UploadController {
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    public ResponseEntity<?> startUpload(@RequestBody Map<String, Object> request) throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        if (!(request.get("totalBytes") instanceof Number totalBytes)) {
+            return ResponseEntity.badRequest().body("totalBytes is required");
+        }
+        Integer chunkSize = request.get("chunkSize") instanceof Number size ? size.intValue() : null;
+        UploadSession session = chunkedUploadService.start(user.getId(), (String) request.get("fileName"),
+                (String) request.get("contentType"), totalBytes.longValue(), chunkSize);
+        return ResponseEntity.status(201).body(describe(session));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getUpload(@PathVariable String uploadId) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        return ResponseEntity.ok(describe(chunkedUploadService.get(uploadId, user.getId())));
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> putChunk(@PathVariable String uploadId, @PathVariable int index,
+                                      @RequestHeader(value = "X-Chunk-SHA256", required = false) String sha256,
+                                      HttpServletRequest request) throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        // Read straight from the request stream into the staging file
+        UploadSession session = chunkedUploadService.writeChunk(uploadId, user.getId(), index, sha256, request.getInputStream());
+        return ResponseEntity.ok(describe(session));
+    }
+
+    @PostMapping("/{uploadId}/commit")
+    public ResponseEntity<?> commitUpload(@PathVariable String uploadId,
+                                          @RequestBody(required = false) Map<String, String> request) throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        String sha256 = request != null ? request.get("sha256") : null;
+        return ResponseEntity.ok(describe(chunkedUploadService.commit(uploadId, user.getId(), sha256)));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId) throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return ResponseEntity.status(401).body("User not authenticated");
+        }
+        chunkedUploadService.abort(uploadId, user.getId());
+        return ResponseEntity.ok("Upload cancelled");
+    }
+
+    @ExceptionHandler(ChunkedUploadService.UploadException.class)
+    public ResponseEntity<?> handleUploadException(ChunkedUploadService.UploadException e) {
+        return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+    }
+
+    private static Map<String, Object> describe(UploadSession session) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("uploadId", session.getId());
+        result.put("fileName", session.getFileName());
+        result.put("contentType", session.getContentType());
+        result.put("totalBytes", session.getTotalBytes());
+        result.put("chunkSize", session.getChunkSize());
+        result.put("totalChunks", session.getTotalChunks());
+        result.put("receivedChunks", session.getReceivedChunks());
+        result.put("receivedBytes", session.getReceivedBytes());
+        result.put("status", session.getStatus());
+        if (session.getBlobHash() != null) {
+            result.put("sha256", session.getBlobHash());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.digitalclassroombackend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a published grade together with its submission and
+ * assignment summary, filled by a JPQL constructor expression.
+ */
+public class GradeSummary {
+    private final Long id;
+    private final Double marks;
+    private final String feedback;
+    private final LocalDateTime gradedAt;
+    private final Long submissionId;
+    private final LocalDateTime submitDate;
+    private final String fileName;
+    private final Long assignmentId;
+    private final String assignmentTitle;
+    private final Integer assignmentTotalMarks;
+
+    public GradeSummary(Long id, Double marks, String feedback, LocalDateTime gradedAt,
+                        Long submissionId, LocalDateTime submitDate, String fileName,
+                        Long assignmentId, String assignmentTitle, Integer assignmentTotalMarks) {
+        this.id = id;
+        this.marks = marks;
+        this.feedback = feedback;
+        this.gradedAt = gradedAt;
+        this.submissionId = submissionId;
+        this.submitDate = submitDate;
+        this.fileName = fileName;
+        this.assignmentId = assignmentId;
+        this.assignmentTitle = assignmentTitle;
+        this.assignmentTotalMarks = assignmentTotalMarks;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Double getMarks() {
+        return marks;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public LocalDateTime getGradedAt() {
+        return gradedAt;
+    }
+
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    public LocalDateTime getSubmitDate() {
+        return submitDate;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public String getAssignmentTitle() {
+        return assignmentTitle;
+    }
+
+    public Integer getAssignmentTotalMarks() {
+        return assignmentTotalMarks;
+    }
+}
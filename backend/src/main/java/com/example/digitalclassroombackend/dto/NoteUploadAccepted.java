@@ -0,0 +1,35 @@
+package com.example.digitalclassroombackend.dto;
+
+import com.example.digitalclassroombackend.model.Note;
+
+/**
+ * Body of the 202 returned when a note is accepted: enough to poll for the
+ * background upload without exposing the uploader entity.
+ */
+public class NoteUploadAccepted {
+    private final Long id;
+    private final String uploadStatus;
+    private final String fileName;
+
+    public NoteUploadAccepted(Long id, String uploadStatus, String fileName) {
+        this.id = id;
+        this.uploadStatus = uploadStatus;
+        this.fileName = fileName;
+    }
+
+    public static NoteUploadAccepted of(Note note) {
+        return new NoteUploadAccepted(note.getId(), note.getUploadStatus(), note.getFileName());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUploadStatus() {
+        return uploadStatus;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
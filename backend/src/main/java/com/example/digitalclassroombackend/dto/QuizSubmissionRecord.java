@@ -0,0 +1,74 @@
+package com.example.digitalclassroombackend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One quiz submission as written to the ingestion journal. {@code seq} orders
+ * entries within the journal; {@code ingestId} identifies the submission in
+ * the database so replays never insert it twice.
+ */
+public class QuizSubmissionRecord {
+    private long seq;
+    private String ingestId;
+    private Long quizId;
+    private Long userId;
+    private String answers;
+    private Double score;
+    private LocalDateTime submitDate;
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getIngestId() {
+        return ingestId;
+    }
+
+    public void setIngestId(String ingestId) {
+        this.ingestId = ingestId;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(String answers) {
+        this.answers = answers;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getSubmitDate() {
+        return submitDate;
+    }
+
+    public void setSubmitDate(LocalDateTime submitDate) {
+        this.submitDate = submitDate;
+    }
+}
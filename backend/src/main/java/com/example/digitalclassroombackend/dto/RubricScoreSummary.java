@@ -0,0 +1,54 @@
+package com.example.digitalclassroombackend.dto;
+
+/**
+ * Read model for a rubric score joined with its criteria, filled by a JPQL
+ * constructor expression.
+ */
+public class RubricScoreSummary {
+    private final Long submissionId;
+    private final Long id;
+    private final Double score;
+    private final String comments;
+    private final Long criteriaId;
+    private final String criteriaName;
+    private final Double maxPoints;
+
+    public RubricScoreSummary(Long submissionId, Long id, Double score, String comments,
+                              Long criteriaId, String criteriaName, Double maxPoints) {
+        this.submissionId = submissionId;
+        this.id = id;
+        this.score = score;
+        this.comments = comments;
+        this.criteriaId = criteriaId;
+        this.criteriaName = criteriaName;
+        this.maxPoints = maxPoints;
+    }
+
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public Long getCriteriaId() {
+        return criteriaId;
+    }
+
+    public String getCriteriaName() {
+        return criteriaName;
+    }
+
+    public Double getMaxPoints() {
+        return maxPoints;
+    }
+}
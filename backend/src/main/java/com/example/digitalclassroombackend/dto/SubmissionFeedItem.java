@@ -0,0 +1,126 @@
+package com.example.digitalclassroombackend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.digitalclassroombackend.model.Grades;
+
+/**
+ * Read model for one row of the teacher submissions feed: a submission with
+ * its (optional) grade, assignment and student, filled by a JPQL constructor
+ * expression over a single left join.
+ */
+public class SubmissionFeedItem {
+    private final Long id;
+    private final String filePath;
+    private final String fileName;
+    private final String fileType;
+    private final LocalDateTime submitDate;
+    private final Double marks;
+    private final String feedback;
+    private final Grades.GradeStatus gradeStatus;
+    private final LocalDateTime gradedAt;
+    private final LocalDateTime publishedAt;
+    private final Long assignmentId;
+    private final String assignmentTitle;
+    private final Integer assignmentTotalMarks;
+    private final LocalDateTime dueDate;
+    private final Long studentId;
+    private final String studentUsername;
+    private final String studentEmail;
+
+    public SubmissionFeedItem(Long id, String filePath, String fileName, String fileType, LocalDateTime submitDate,
+                              Double marks, String feedback, Grades.GradeStatus gradeStatus,
+                              LocalDateTime gradedAt, LocalDateTime publishedAt,
+                              Long assignmentId, String assignmentTitle, Integer assignmentTotalMarks, LocalDateTime dueDate,
+                              Long studentId, String studentUsername, String studentEmail) {
+        this.id = id;
+        this.filePath = filePath;
+        this.fileName = fileName;
+        this.fileType = fileType;
+        this.submitDate = submitDate;
+        this.marks = marks;
+        this.feedback = feedback;
+        this.gradeStatus = gradeStatus;
+        this.gradedAt = gradedAt;
+        this.publishedAt = publishedAt;
+        this.assignmentId = assignmentId;
+        this.assignmentTitle = assignmentTitle;
+        this.assignmentTotalMarks = assignmentTotalMarks;
+        this.dueDate = dueDate;
+        this.studentId = studentId;
+        this.studentUsername = studentUsername;
+        this.studentEmail = studentEmail;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public LocalDateTime getSubmitDate() {
+        return submitDate;
+    }
+
+    public Double getMarks() {
+        return marks;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public Grades.GradeStatus getGradeStatus() {
+        return gradeStatus;
+    }
+
+    public LocalDateTime getGradedAt() {
+        return gradedAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public String getAssignmentTitle() {
+        return assignmentTitle;
+    }
+
+    public Integer getAssignmentTotalMarks() {
+        return assignmentTotalMarks;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentUsername() {
+        return studentUsername;
+    }
+
+    public String getStudentEmail() {
+        return studentEmail;
+    }
+
+    public boolean isLate() {
+        return dueDate != null && submitDate != null && submitDate.isAfter(dueDate);
+    }
+}
@@ -3,10 +3,13 @@ package com.example.digitalclassroombackend.model;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -15,7 +18,11 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "assignments")
+@EntityListeners({TeacherStatsListener.class, BlobReferenceListener.class})
+@Table(name = "assignments", indexes = {
+    @Index(name = "idx_assignments_class_semester", columnList = "class_semester"),
+    @Index(name = "idx_assignments_blob_hash", columnList = "blob_hash")
+})
 public class Assignment {
 
     @Id
@@ -33,6 +40,9 @@ public class Assignment {
 
     private String fileType;
 
+    @Column(length = 64)
+    private String blobHash; // Content hash in file_blobs when stored locally
+
     private LocalDateTime dueDate;
 
     @ManyToOne
@@ -50,7 +60,9 @@ public class Assignment {
     @JoinTable(
         name = "assignment_assigned_students",
         joinColumns = @JoinColumn(name = "assignment_id"),
-        inverseJoinColumns = @JoinColumn(name = "student_id")
+        inverseJoinColumns = @JoinColumn(name = "student_id"),
+        // Lookup by student for the visibility query
+        indexes = @Index(name = "idx_assignment_assigned_students_student", columnList = "student_id, assignment_id")
     )
     private Set<User> assignedStudents;
 
@@ -233,4 +245,12 @@ public class Assignment {
     public void setRubric(Rubric rubric) {
         this.rubric = rubric;
     }
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.digitalclassroombackend.model;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+/**
+ * Keeps {@code file_blobs.ref_count} in step with notes, assignments and
+ * submissions that reference a blob. Like {@link TeacherStatsListener} the
+ * update runs through JDBC on the connection of the current JPA transaction.
+ */
+@Component
+public class BlobReferenceListener {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlobReferenceListener(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostPersist
+    public void afterInsert(Object entity) {
+        apply(blobHashOf(entity), 1);
+    }
+
+    @PostRemove
+    public void afterDelete(Object entity) {
+        apply(blobHashOf(entity), -1);
+    }
+
+    private String blobHashOf(Object entity) {
+        if (entity instanceof Note note) {
+            return note.getBlobHash();
+        } else if (entity instanceof Assignment assignment) {
+            return assignment.getBlobHash();
+        } else if (entity instanceof Submission submission) {
+            return submission.getBlobHash();
+        }
+        return null;
+    }
+
+    private void apply(String hash, int delta) {
+        if (hash == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE file_blobs SET ref_count = ref_count + ? WHERE hash = ?", delta, hash);
+    }
+}
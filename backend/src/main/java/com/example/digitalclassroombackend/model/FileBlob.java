@@ -0,0 +1,86 @@
+package com.example.digitalclassroombackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One stored file, keyed by the SHA-256 of its content. Notes, assignments and
+ * submissions point at it through their {@code blob_hash} column; the reference
+ * count is maintained by {@link BlobReferenceListener} and blobs that drop to
+ * zero are removed by {@code BlobStore.collectGarbage()}.
+ */
+@Entity
+@Table(name = "file_blobs", indexes = {
+    @Index(name = "idx_file_blobs_ref_count", columnList = "ref_count")
+})
+public class FileBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private long sizeBytes;
+
+    private String storagePath;
+
+    private int refCount;
+
+    private LocalDateTime createdAt;
+
+    // Last time an upload resolved to this blob; protects new blobs from GC until they are referenced
+    private LocalDateTime lastTouched;
+
+    // Getters and Setters
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getStoragePath() {
+        return storagePath;
+    }
+
+    public void setStoragePath(String storagePath) {
+        this.storagePath = storagePath;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastTouched() {
+        return lastTouched;
+    }
+
+    public void setLastTouched(LocalDateTime lastTouched) {
+        this.lastTouched = lastTouched;
+    }
+}
@@ -3,10 +3,13 @@ package com.example.digitalclassroombackend.model;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -15,7 +18,10 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "notes")
+@EntityListeners({TeacherStatsListener.class, BlobReferenceListener.class})
+@Table(name = "notes", indexes = {
+    @Index(name = "idx_notes_blob_hash", columnList = "blob_hash")
+})
 public class Note {
 
     @Id
@@ -31,6 +37,11 @@ public class Note {
 
     private String fileUrl; // Cloudinary URL
 
+    @Column(length = 64)
+    private String blobHash; // Content hash in file_blobs when stored locally
+
+    private String uploadStatus; // "UPLOADING" (staged locally), "READY" (on the remote store) or "LOCAL" (remote upload gave up)
+
     @NotBlank
     private String fileName;
 
@@ -171,4 +182,20 @@ public class Note {
     public void setAssignedStudents(Set<User> assignedStudents) {
         this.assignedStudents = assignedStudents;
     }
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
+
+    public String getUploadStatus() {
+        return uploadStatus;
+    }
+
+    public void setUploadStatus(String uploadStatus) {
+        this.uploadStatus = uploadStatus;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.Set;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +19,7 @@ import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
+@EntityListeners(TeacherStatsListener.class)
 @Table(name = "quizzes")
 public class Quiz {
 
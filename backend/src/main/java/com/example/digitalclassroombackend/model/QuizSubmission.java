@@ -27,6 +27,10 @@ public class QuizSubmission {
 
     private LocalDateTime submitDate;
 
+    // Journal entry id when written through the exam-surge ingestion queue (used to de-duplicate replays)
+    @Column(unique = true, length = 36)
+    private String ingestId;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -75,4 +79,12 @@ public class QuizSubmission {
     public void setSubmitDate(LocalDateTime submitDate) {
         this.submitDate = submitDate;
     }
+
+    public String getIngestId() {
+        return ingestId;
+    }
+
+    public void setIngestId(String ingestId) {
+        this.ingestId = ingestId;
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.digitalclassroombackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -26,6 +28,7 @@ public class RubricCriteria {
 
     @ManyToOne
     @JoinColumn(name = "rubric_id")
+    @JsonIgnore
     private Rubric rubric;
 
     // Getters and Setters
@@ -6,7 +6,13 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submissions")
+@EntityListeners({TeacherStatsListener.class, BlobReferenceListener.class})
+@Table(name = "submissions", uniqueConstraints = {
+    // One submission per student per assignment; also serves the existence check index
+    @UniqueConstraint(name = "uk_submissions_assignment_student", columnNames = {"assignment_id", "submitted_by"})
+}, indexes = {
+    @Index(name = "idx_submissions_blob_hash", columnList = "blob_hash")
+})
 public class Submission {
 
     @Id
@@ -27,6 +33,9 @@ public class Submission {
 
     private String fileType;
 
+    @Column(length = 64)
+    private String blobHash; // Content hash in file_blobs when stored locally
+
     private LocalDateTime submitDate;
 
     private Double grade;
@@ -105,4 +114,12 @@ public class Submission {
     public void setFeedback(String feedback) {
         this.feedback = feedback;
     }
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
 }
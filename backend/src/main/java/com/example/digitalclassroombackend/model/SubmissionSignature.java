@@ -0,0 +1,72 @@
+package com.example.digitalclassroombackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * MinHash signature of a submission's text, computed in the background after
+ * the submission is saved. Submissions whose file could not be read as text
+ * get a row without a signature so they are not retried. Read and written
+ * through {@code SubmissionSimilarityService}.
+ */
+@Entity
+@Table(name = "submission_signatures")
+public class SubmissionSignature {
+
+    @Id
+    private Long submissionId;
+
+    private String status; // "READY", "UNSUPPORTED" (not a text format), "EMPTY" (no words) or "MISSING" (file gone)
+
+    private int shingleCount;
+
+    @Column(length = 512)
+    private byte[] signature; // 128 big-endian ints when READY
+
+    private LocalDateTime computedAt;
+
+    // Getters and Setters
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getShingleCount() {
+        return shingleCount;
+    }
+
+    public void setShingleCount(int shingleCount) {
+        this.shingleCount = shingleCount;
+    }
+
+    public byte[] getSignature() {
+        return signature;
+    }
+
+    public void setSignature(byte[] signature) {
+        this.signature = signature;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
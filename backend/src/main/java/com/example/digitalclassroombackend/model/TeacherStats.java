@@ -0,0 +1,79 @@
+package com.example.digitalclassroombackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-teacher dashboard counters. Rows are maintained incrementally by
+ * {@link TeacherStatsListener} and can be recomputed from scratch by
+ * {@code TeacherStatsService.rebuild()}.
+ */
+@Entity
+@Table(name = "teacher_stats")
+public class TeacherStats {
+
+    @Id
+    private Long teacherId;
+
+    private long notesCount;
+
+    private long assignmentsCount;
+
+    private long quizzesCount;
+
+    private long submissionsCount;
+
+    private LocalDateTime rebuiltAt;
+
+    // Getters and Setters
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public long getNotesCount() {
+        return notesCount;
+    }
+
+    public void setNotesCount(long notesCount) {
+        this.notesCount = notesCount;
+    }
+
+    public long getAssignmentsCount() {
+        return assignmentsCount;
+    }
+
+    public void setAssignmentsCount(long assignmentsCount) {
+        this.assignmentsCount = assignmentsCount;
+    }
+
+    public long getQuizzesCount() {
+        return quizzesCount;
+    }
+
+    public void setQuizzesCount(long quizzesCount) {
+        this.quizzesCount = quizzesCount;
+    }
+
+    public long getSubmissionsCount() {
+        return submissionsCount;
+    }
+
+    public void setSubmissionsCount(long submissionsCount) {
+        this.submissionsCount = submissionsCount;
+    }
+
+    public LocalDateTime getRebuiltAt() {
+        return rebuiltAt;
+    }
+
+    public void setRebuiltAt(LocalDateTime rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.digitalclassroombackend.model;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+/**
+ * Keeps {@link TeacherStats} in step with inserts and deletes of notes,
+ * assignments, quizzes and submissions. The counters are bumped with plain
+ * JDBC on the connection bound to the current JPA transaction, so they commit
+ * or roll back together with the entity change (entity callbacks must not
+ * use the EntityManager itself). Each bump is a single upsert, so a teacher's
+ * first activity racing with another request never fails the transaction
+ * (PostgreSQL aborts it on a failed INSERT).
+ */
+@Component
+public class TeacherStatsListener {
+
+    private static final String[] COUNTERS = { "notes_count", "assignments_count", "quizzes_count", "submissions_count" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public TeacherStatsListener(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostPersist
+    public void afterInsert(Object entity) {
+        apply(entity, 1);
+    }
+
+    @PostRemove
+    public void afterDelete(Object entity) {
+        apply(entity, -1);
+    }
+
+    private void apply(Object entity, int delta) {
+        if (entity instanceof Note note) {
+            increment(note.getUploadedBy(), "notes_count", delta);
+        } else if (entity instanceof Assignment assignment) {
+            increment(assignment.getCreatedBy(), "assignments_count", delta);
+        } else if (entity instanceof Quiz quiz) {
+            increment(quiz.getCreatedBy(), "quizzes_count", delta);
+        } else if (entity instanceof Submission submission && submission.getAssignment() != null) {
+            increment(submission.getAssignment().getCreatedBy(), "submissions_count", delta);
+        }
+    }
+
+    // Creates an all-zero row for the teacher unless one exists (used by the reconcile job)
+    public void ensureRow(Long teacherId) {
+        upsert(teacherId, "notes_count", 0);
+    }
+
+    private void increment(User teacher, String column, int delta) {
+        if (teacher == null || teacher.getId() == null) {
+            return;
+        }
+        upsert(teacher.getId(), column, delta);
+    }
+
+    private void upsert(Long teacherId, String column, int delta) {
+        // The new row starts at delta in the bumped column and 0 elsewhere
+        StringBuilder values = new StringBuilder("?");
+        for (String counter : COUNTERS) {
+            values.append(counter.equals(column) ? ", ?" : ", 0");
+        }
+        String insert = "INSERT INTO teacher_stats (teacher_id, " + String.join(", ", COUNTERS) + ") VALUES (" + values + ") ";
+        String onConflict = isPostgres()
+                ? "ON CONFLICT (teacher_id) DO UPDATE SET " + column + " = teacher_stats." + column + " + ?"
+                : "ON DUPLICATE KEY UPDATE " + column + " = " + column + " + ?";
+        jdbcTemplate.update(insert + onConflict, teacherId, delta, delta);
+    }
+
+    // H2 (MySQL mode) and MySQL take ON DUPLICATE KEY UPDATE; PostgreSQL needs ON CONFLICT
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            // Asked on the transaction's own connection so it never waits on the pool
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.digitalclassroombackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A chunked upload in progress. Chunks are appended in order to a staging
+ * file; {@code receivedChunks}/{@code receivedBytes} record how far it got so
+ * a client can resume after a dropped connection. Once committed the file is
+ * in the blob store under {@code blobHash} and the session waits to be
+ * attached to a note, assignment or submission. Read and written through
+ * {@code ChunkedUploadService}.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_sessions_updated_at", columnList = "updated_at")
+})
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    private Long ownerId;
+
+    private String fileName;
+
+    private String contentType;
+
+    private long totalBytes;
+
+    private int chunkSize;
+
+    private int receivedChunks;
+
+    private long receivedBytes;
+
+    private String status; // "OPEN" (receiving chunks) or "COMMITTED" (file in the blob store)
+
+    @Column(length = 64)
+    private String blobHash;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public int getTotalChunks() {
+        return totalBytes == 0 ? 0 : (int) ((totalBytes + chunkSize - 1) / chunkSize);
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(int receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,10 +1,40 @@
 package com.example.digitalclassroombackend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.digitalclassroombackend.model.Assignment;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
+
+    // Open assignments (not past due) that the student has not submitted yet
+    @Query("SELECT COUNT(a) FROM Assignment a WHERE a.dueDate >= :now AND NOT EXISTS " +
+           "(SELECT s.id FROM Submission s WHERE s.assignment = a AND s.submittedBy.id = :studentId)")
+    long countPendingForStudent(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
+
+    // Assignments visible to a student: whole-class assignments for their class/semester,
+    // or selected-student assignments that list them in assignment_assigned_students
+    @Query("SELECT a FROM Assignment a WHERE " +
+           "(a.accessType = 'ALL_CLASS' AND a.classSemester = :classSemester) OR " +
+           "(a.accessType = 'SELECTED_STUDENTS' AND EXISTS " +
+           "(SELECT st.id FROM a.assignedStudents st WHERE st.id = :userId))")
+    List<Assignment> findVisibleToStudent(@Param("userId") Long userId, @Param("classSemester") String classSemester);
+
+    // [id, title, description, instructions, accessType, classSemester] rows for the search index
+    @Query("SELECT a.id, a.title, a.description, a.instructions, a.accessType, a.classSemester FROM Assignment a")
+    List<Object[]> findSearchRows();
+
+    // [assignmentId, studentId] roster rows for SELECTED_STUDENTS assignments (search index)
+    @Query("SELECT a.id, s.id FROM Assignment a JOIN a.assignedStudents s WHERE a.accessType = 'SELECTED_STUDENTS'")
+    List<Object[]> findSelectedStudentAssignmentIds();
+
+    // [teacherId, count] rows used to rebuild teacher_stats
+    @Query("SELECT a.createdBy.id, COUNT(a) FROM Assignment a WHERE a.createdBy IS NOT NULL GROUP BY a.createdBy.id")
+    List<Object[]> countGroupedByCreator();
 }
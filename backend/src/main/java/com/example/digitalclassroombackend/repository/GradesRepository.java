@@ -3,7 +3,10 @@ package com.example.digitalclassroombackend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.digitalclassroombackend.dto.GradeSummary;
 import com.example.digitalclassroombackend.model.Grades;
 import com.example.digitalclassroombackend.model.Submission;
 
@@ -16,4 +19,15 @@ public interface GradesRepository extends JpaRepository<Grades, Long> {
 
     // Find published grades by assignment
     List<Grades> findBySubmissionAssignmentIdAndStatus(Long assignmentId, Grades.GradeStatus status);
+
+    // Count grades with the given status for a student's submissions (dashboard stats)
+    long countBySubmissionSubmittedByIdAndStatus(Long studentId, Grades.GradeStatus status);
+
+    // Student's grades with submission and assignment summary in a single joined select
+    @Query("SELECT new com.example.digitalclassroombackend.dto.GradeSummary(" +
+           "g.id, g.marks, g.feedback, g.gradedAt, s.id, s.submitDate, s.fileName, a.id, a.title, a.totalMarks) " +
+           "FROM Grades g JOIN g.submission s JOIN s.assignment a " +
+           "WHERE s.submittedBy.id = :studentId AND g.status = :status")
+    List<GradeSummary> findSummariesByStudentAndStatus(@Param("studentId") Long studentId,
+                                                        @Param("status") Grades.GradeStatus status);
 }
@@ -1,7 +1,30 @@
 package com.example.digitalclassroombackend.repository;
 
 import com.example.digitalclassroombackend.model.Note;
+
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface NoteRepository extends JpaRepository<Note, Long> {
+
+    // [teacherId, count] rows used to rebuild teacher_stats
+    @Query("SELECT n.uploadedBy.id, COUNT(n) FROM Note n WHERE n.uploadedBy IS NOT NULL GROUP BY n.uploadedBy.id")
+    List<Object[]> countGroupedByUploader();
+
+    // [noteId, classSemester] rows for ALL_CLASS notes (note visibility index)
+    @Query("SELECT n.id, n.classSemester FROM Note n WHERE n.accessType = 'ALL_CLASS'")
+    List<Object[]> findAllClassNoteIds();
+
+    // [noteId, studentId] roster rows for SELECTED_STUDENTS notes (note visibility index)
+    @Query("SELECT n.id, s.id FROM Note n JOIN n.assignedStudents s WHERE n.accessType = 'SELECTED_STUDENTS'")
+    List<Object[]> findSelectedStudentNoteIds();
+
+    // [id, title, description, subject, accessType, classSemester] rows for the search index
+    @Query("SELECT n.id, n.title, n.description, n.subject, n.accessType, n.classSemester FROM Note n")
+    List<Object[]> findSearchRows();
+
+    // Notes whose remote upload has not finished (resumed on startup)
+    List<Note> findByUploadStatus(String uploadStatus);
 }
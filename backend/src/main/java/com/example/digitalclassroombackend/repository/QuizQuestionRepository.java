@@ -13,4 +13,9 @@ import com.example.digitalclassroombackend.model.QuizQuestion;
 public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long> {
     @Query("SELECT q FROM QuizQuestion q WHERE q.quiz.id = :quizId ORDER BY q.orderIndex ASC")
     List<QuizQuestion> findByQuizIdOrderByOrderIndexAsc(@Param("quizId") Long quizId);
+
+    // [question, option] rows for a whole quiz in one round trip; option is null for questions without options
+    @Query("SELECT q, o FROM QuizQuestion q JOIN FETCH q.quiz z LEFT JOIN QuizOption o ON o.question = q " +
+           "WHERE z.id = :quizId ORDER BY q.orderIndex ASC, q.id ASC, o.id ASC")
+    List<Object[]> findWithOptionsByQuizId(@Param("quizId") Long quizId);
 }
@@ -1,10 +1,31 @@
 package com.example.digitalclassroombackend.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.digitalclassroombackend.model.Quiz;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+
+    // Quizzes the student has not taken yet
+    @Query("SELECT COUNT(q) FROM Quiz q WHERE NOT EXISTS " +
+           "(SELECT qs.id FROM QuizSubmission qs WHERE qs.quiz = q AND qs.submittedBy.id = :studentId)")
+    long countNotTakenByStudent(@Param("studentId") Long studentId);
+
+    // [teacherId, count] rows used to rebuild teacher_stats
+    @Query("SELECT q.createdBy.id, COUNT(q) FROM Quiz q WHERE q.createdBy IS NOT NULL GROUP BY q.createdBy.id")
+    List<Object[]> countGroupedByCreator();
+
+    // [id, title, description, accessType, classSemester] rows for the search index
+    @Query("SELECT q.id, q.title, q.description, q.accessType, q.classSemester FROM Quiz q")
+    List<Object[]> findSearchRows();
+
+    // [quizId, studentId] roster rows for SELECTED_STUDENTS quizzes (search index)
+    @Query("SELECT q.id, s.id FROM Quiz q JOIN q.assignedStudents s WHERE q.accessType = 'SELECTED_STUDENTS'")
+    List<Object[]> findSelectedStudentQuizIds();
 }
@@ -1,10 +1,20 @@
 package com.example.digitalclassroombackend.repository;
 
+import com.example.digitalclassroombackend.dto.RubricScoreSummary;
 import com.example.digitalclassroombackend.model.RubricScore;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RubricScoreRepository extends JpaRepository<RubricScore, Long> {
     List<RubricScore> findBySubmissionId(Long submissionId);
+
+    // Rubric scores and their criteria for a batch of submissions in one select
+    @Query("SELECT new com.example.digitalclassroombackend.dto.RubricScoreSummary(" +
+           "rs.submission.id, rs.id, rs.score, rs.comments, c.id, c.criteriaName, c.maxPoints) " +
+           "FROM RubricScore rs JOIN rs.criteria c WHERE rs.submission.id IN :submissionIds")
+    List<RubricScoreSummary> findSummariesBySubmissionIds(@Param("submissionIds") Collection<Long> submissionIds);
 }
@@ -2,12 +2,52 @@ package com.example.digitalclassroombackend.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.digitalclassroombackend.dto.SubmissionFeedItem;
+import com.example.digitalclassroombackend.model.Grades;
 import com.example.digitalclassroombackend.model.Submission;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     List<Submission> findBySubmittedById(Long id);
+
+    // Indexed by the (assignment_id, submitted_by) unique constraint
+    boolean existsByAssignmentIdAndSubmittedById(Long assignmentId, Long submittedById);
+
+    // [teacherId, count] rows used to rebuild teacher_stats, keyed by the assignment's creator
+    @Query("SELECT a.createdBy.id, COUNT(s) FROM Submission s JOIN s.assignment a WHERE a.createdBy IS NOT NULL GROUP BY a.createdBy.id")
+    List<Object[]> countGroupedByAssignmentCreator();
+
+    // [username, fileName, filePath, submitDate] rows for the assignment ZIP export
+    @Query("SELECT u.username, s.fileName, s.filePath, s.submitDate FROM Submission s LEFT JOIN s.submittedBy u " +
+           "WHERE s.assignment.id = :assignmentId ORDER BY u.username, s.id")
+    List<Object[]> findExportRowsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    // Submissions feed: one query joining submission to its assignment and student (inner joins) and its
+    // grade (left join, PENDING when absent), newest first.
+    // Keyset pagination on s.id (pass the last id seen as :cursor); every filter is optional.
+    @Query("SELECT new com.example.digitalclassroombackend.dto.SubmissionFeedItem(" +
+           "s.id, s.filePath, s.fileName, s.fileType, s.submitDate, " +
+           "g.marks, g.feedback, g.status, g.gradedAt, g.publishedAt, " +
+           "a.id, a.title, a.totalMarks, a.dueDate, u.id, u.username, u.email) " +
+           "FROM Submission s JOIN s.assignment a JOIN s.submittedBy u LEFT JOIN Grades g ON g.submission = s " +
+           "WHERE (:cursor IS NULL OR s.id < :cursor) " +
+           "AND (:assignmentId IS NULL OR a.id = :assignmentId) " +
+           "AND (:teacherId IS NULL OR a.createdBy.id = :teacherId) " +
+           "AND (:gradeStatus IS NULL OR COALESCE(g.status, com.example.digitalclassroombackend.model.Grades.GradeStatus.PENDING) = :gradeStatus) " +
+           "AND (:late IS NULL " +
+           "     OR (:late = TRUE AND s.submitDate > a.dueDate) " +
+           "     OR (:late = FALSE AND (a.dueDate IS NULL OR s.submitDate <= a.dueDate))) " +
+           "ORDER BY s.id DESC")
+    List<SubmissionFeedItem> findFeed(@Param("cursor") Long cursor,
+                                      @Param("assignmentId") Long assignmentId,
+                                      @Param("teacherId") Long teacherId,
+                                      @Param("gradeStatus") Grades.GradeStatus gradeStatus,
+                                      @Param("late") Boolean late,
+                                      Pageable pageable);
 }
@@ -0,0 +1,8 @@
+package com.example.digitalclassroombackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.digitalclassroombackend.model.TeacherStats;
+
+public interface TeacherStatsRepository extends JpaRepository<TeacherStats, Long> {
+}
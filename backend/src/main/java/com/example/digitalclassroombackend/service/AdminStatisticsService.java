@@ -0,0 +1,122 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+import com.example.digitalclassroombackend.repository.SubmissionRepository;
+import com.example.digitalclassroombackend.repository.UserRepository;
+
+/**
+ * Serves the admin dashboard statistics from a short-lived snapshot. User
+ * counts come from a single grouped query instead of loading every user row;
+ * concurrent dashboards share one snapshot and only one request rebuilds it
+ * once it has expired. User writes call {@link #invalidate()}.
+ */
+@Service
+public class AdminStatisticsService {
+
+    private final UserRepository userRepository;
+    private final QuizRepository quizRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final long ttlMillis;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // Bumped by invalidate(); a snapshot computed across an invalidation is returned but not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public AdminStatisticsService(UserRepository userRepository, QuizRepository quizRepository,
+                                  AssignmentRepository assignmentRepository, SubmissionRepository submissionRepository,
+                                  @Value("${admin.statistics.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.quizRepository = quizRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.submissionRepository = submissionRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public Map<String, Long> getStatistics() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired()) {
+            return current.stats;
+        }
+        refreshLock.lock();
+        try {
+            // Another request may have refreshed while we waited for the lock
+            current = snapshot;
+            if (current == null || current.isExpired()) {
+                long startGeneration = generation.get();
+                current = new Snapshot(compute(), System.currentTimeMillis() + ttlMillis);
+                if (generation.get() == startGeneration) {
+                    snapshot = current;
+                }
+            }
+            return current.stats;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Map<String, Long> compute() {
+        long totalTeachers = 0;
+        long totalStudents = 0;
+        long activeUsers = 0;
+        long pendingApprovals = 0;
+
+        List<Object[]> groups = userRepository.countGroupedByRoleAndStatus();
+        for (Object[] group : groups) {
+            User.Role role = (User.Role) group[0];
+            String status = (String) group[1];
+            long count = (Long) group[2];
+
+            if ("APPROVED".equals(status)) {
+                activeUsers += count;
+                if (role == User.Role.TEACHER) {
+                    totalTeachers += count;
+                } else if (role == User.Role.STUDENT) {
+                    totalStudents += count;
+                }
+            } else if ("PENDING".equals(status)) {
+                pendingApprovals += count;
+            }
+        }
+
+        return Map.of(
+                "totalTeachers", totalTeachers,
+                "totalStudents", totalStudents,
+                "activeUsers", activeUsers,
+                "pendingApprovals", pendingApprovals,
+                "totalQuizzes", quizRepository.count(),
+                "totalAssignments", assignmentRepository.count(),
+                "totalSubmissions", submissionRepository.count()
+        );
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Long> stats;
+        private final long expiresAt;
+
+        private Snapshot(Map<String, Long> stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
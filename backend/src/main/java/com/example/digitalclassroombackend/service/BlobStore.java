@@ -0,0 +1,306 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.digitalclassroombackend.model.FileBlob;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Content-addressed store for uploaded files. The upload is hashed while it is
+ * streamed to a temp file, then moved to {@code <root>/ab/cd/<sha256>}; if that
+ * blob already exists the temp copy is dropped, so identical files are kept
+ * once however many notes, assignments or submissions point at them.
+ *
+ * Reference counts live in {@code file_blobs} and are kept current by
+ * {@link com.example.digitalclassroombackend.model.BlobReferenceListener}.
+ * {@link #collectGarbage()} deletes blobs that have been unreferenced for
+ * longer than the grace period; the grace period also covers the window
+ * between storing a blob and saving the entity that references it.
+ */
+@Service
+public class BlobStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final Path tempDir;
+    private final Duration gracePeriod;
+
+    // Store holds the read lock while publishing a blob; GC takes the write lock to delete one
+    private final ReentrantReadWriteLock publishLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong storedNew = new AtomicLong();
+    private final AtomicLong storedDuplicate = new AtomicLong();
+    private final AtomicLong bytesDeduplicated = new AtomicLong();
+    private final Counter newBlobs;
+    private final Counter duplicateBlobs;
+    private final Counter duplicateBytes;
+
+    public BlobStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                     @Value("${storage.blob-root:uploads/blobs}") String root,
+                     @Value("${storage.blob-gc.grace-minutes:60}") long graceMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.root = Paths.get(root);
+        this.tempDir = this.root.resolve("tmp");
+        this.gracePeriod = Duration.ofMinutes(graceMinutes);
+
+        this.newBlobs = Counter.builder("storage.blob.stored")
+                .description("Uploads stored by the blob store")
+                .tag("result", "new")
+                .register(meterRegistry);
+        this.duplicateBlobs = Counter.builder("storage.blob.stored")
+                .description("Uploads stored by the blob store")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        this.duplicateBytes = Counter.builder("storage.blob.deduplicated")
+                .description("Upload bytes not written again because the content was already stored")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public FileBlob store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in);
+        }
+    }
+
+    /**
+     * Streams the content into the store and returns its blob. The caller must
+     * save the referencing entity with {@code blobHash} set, otherwise the blob
+     * is collected once the grace period has passed.
+     */
+    public FileBlob store(InputStream in) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream hashing = new DigestInputStream(in, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = hashing.transferTo(out);
+            }
+            return publish(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Takes over a file whose SHA-256 the caller already computed (a committed
+     * chunked upload). The file is moved into place, or deleted if the content
+     * is already stored, so it must be on the same file system as the store.
+     */
+    public FileBlob store(Path staged, String hash) throws IOException {
+        try {
+            return publish(staged, hash, Files.size(staged));
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * Renews the grace period of a stored blob that is about to be referenced.
+     * Returns null if the blob has already been collected.
+     */
+    public FileBlob retain(String hash) {
+        LocalDateTime now = LocalDateTime.now();
+        publishLock.readLock().lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update("UPDATE file_blobs SET last_touched = ? WHERE hash = ?", Timestamp.valueOf(now), hash) == 0) {
+                    return null;
+                }
+                Map<String, Object> row = jdbcTemplate.queryForMap("SELECT size_bytes, storage_path FROM file_blobs WHERE hash = ?", hash);
+                FileBlob blob = new FileBlob();
+                blob.setHash(hash);
+                blob.setSizeBytes(((Number) row.get("size_bytes")).longValue());
+                blob.setStoragePath((String) row.get("storage_path"));
+                blob.setLastTouched(now);
+                return blob;
+            });
+        } finally {
+            publishLock.readLock().unlock();
+        }
+    }
+
+    private FileBlob publish(Path temp, String hash, long size) throws IOException {
+        Path target = pathOf(hash);
+        LocalDateTime now = LocalDateTime.now();
+
+        publishLock.readLock().lock();
+        try {
+            boolean duplicate = Files.exists(target);
+            if (!duplicate) {
+                Files.createDirectories(target.getParent());
+                // Concurrent uploads of the same content may both move; the bytes are identical
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // In a transaction so the JDBC calls reuse the connection an open-in-view request already holds;
+            // taking a second one per upload exhausts the pool under concurrent uploads
+            transactionTemplate.executeWithoutResult(status -> touch(hash, size, target.toString(), now));
+
+            if (duplicate) {
+                storedDuplicate.incrementAndGet();
+                bytesDeduplicated.addAndGet(size);
+                duplicateBlobs.increment();
+                duplicateBytes.increment(size);
+            } else {
+                storedNew.incrementAndGet();
+                newBlobs.increment();
+            }
+        } finally {
+            publishLock.readLock().unlock();
+        }
+
+        FileBlob blob = new FileBlob();
+        blob.setHash(hash);
+        blob.setSizeBytes(size);
+        blob.setStoragePath(target.toString());
+        blob.setLastTouched(now);
+        return blob;
+    }
+
+    public Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Deletes blobs with no references whose last upload is older than the
+     * grace period. Reference counts of those blobs are first recomputed from
+     * the referencing tables, which repairs drift from bulk deletes that skip
+     * entity listeners.
+     */
+    @Scheduled(fixedDelayString = "${storage.blob-gc.interval-ms:3600000}",
+               initialDelayString = "${storage.blob-gc.interval-ms:3600000}")
+    public Map<String, Object> collectGarbage() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(gracePeriod));
+
+        int recounted = jdbcTemplate.update("UPDATE file_blobs b SET ref_count = "
+                + "(SELECT COUNT(*) FROM notes n WHERE n.blob_hash = b.hash) + "
+                + "(SELECT COUNT(*) FROM assignments a WHERE a.blob_hash = b.hash) + "
+                + "(SELECT COUNT(*) FROM submissions s WHERE s.blob_hash = b.hash) "
+                + "WHERE b.last_touched < ?", cutoff);
+
+        List<Map<String, Object>> candidates = jdbcTemplate.queryForList(
+                "SELECT hash, size_bytes FROM file_blobs WHERE ref_count = 0 AND last_touched < ?", cutoff);
+
+        int deleted = 0;
+        long bytesFreed = 0;
+        for (Map<String, Object> candidate : candidates) {
+            String hash = (String) candidate.get("hash");
+            publishLock.writeLock().lock();
+            try {
+                // Re-checked under the lock: an upload may have touched the blob since the select
+                if (jdbcTemplate.update("DELETE FROM file_blobs WHERE hash = ? AND ref_count = 0 AND last_touched < ?",
+                        hash, cutoff) == 1) {
+                    Files.deleteIfExists(pathOf(hash));
+                    deleted++;
+                    bytesFreed += ((Number) candidate.get("size_bytes")).longValue();
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to delete blob " + hash + ": " + e.getMessage());
+            } finally {
+                publishLock.writeLock().unlock();
+            }
+        }
+        int tempFilesRemoved = deleteStaleTempFiles(cutoff.getTime());
+
+        if (deleted > 0 || tempFilesRemoved > 0) {
+            System.out.println("Blob GC removed " + deleted + " blobs (" + bytesFreed + " bytes) and "
+                    + tempFilesRemoved + " stale temp files");
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("recounted", recounted);
+        result.put("deleted", deleted);
+        result.put("bytesFreed", bytesFreed);
+        result.put("tempFilesRemoved", tempFilesRemoved);
+        return result;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> totals = jdbcTemplate.queryForMap("SELECT COUNT(*) AS blobs, COALESCE(SUM(size_bytes), 0) AS bytes, "
+                + "COALESCE(SUM(ref_count), 0) AS refs, COALESCE(SUM(CASE WHEN ref_count = 0 THEN 1 ELSE 0 END), 0) AS unreferenced "
+                + "FROM file_blobs");
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("blobs", ((Number) totals.get("blobs")).longValue());
+        metrics.put("storedBytes", ((Number) totals.get("bytes")).longValue());
+        metrics.put("references", ((Number) totals.get("refs")).longValue());
+        metrics.put("unreferencedBlobs", ((Number) totals.get("unreferenced")).longValue());
+        metrics.put("uploadsStoredNew", storedNew.get());
+        metrics.put("uploadsDeduplicated", storedDuplicate.get());
+        metrics.put("bytesDeduplicated", bytesDeduplicated.get());
+        return metrics;
+    }
+
+    private void touch(String hash, long size, String storagePath, LocalDateTime now) {
+        Timestamp touched = Timestamp.valueOf(now);
+        if (jdbcTemplate.update("UPDATE file_blobs SET last_touched = ? WHERE hash = ?", touched, hash) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO file_blobs (hash, size_bytes, storage_path, ref_count, created_at, last_touched) "
+                    + "VALUES (?, ?, ?, 0, ?, ?)", hash, size, storagePath, touched, touched);
+        } catch (DuplicateKeyException e) {
+            // registered concurrently by an upload of the same content
+            jdbcTemplate.update("UPDATE file_blobs SET last_touched = ? WHERE hash = ?", touched, hash);
+        }
+    }
+
+    private int deleteStaleTempFiles(long cutoffMillis) {
+        if (!Files.isDirectory(tempDir)) {
+            return 0;
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to clean blob temp directory: " + e.getMessage());
+        }
+        return removed;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.digitalclassroombackend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates a synthetic campus for capacity testing. Only active with the
+ * {@code seed} profile, e.g. {@code --spring.profiles.active=seed --seed.students=5000}.
+ *
+ * Rows are written with JDBC batches. It runs as a {@link CommandLineRunner}, i.e.
+ * before {@code ApplicationReadyEvent}, so the teacher counters and the note
+ * visibility index are rebuilt from the seeded rows as part of normal startup.
+ * Every seeded account uses the password from {@code seed.password}; usernames are
+ * {@code teacher<n>} and {@code student<n>}.
+ */
+@Component
+@Profile("seed")
+public class CampusSeeder implements CommandLineRunner {
+
+    private static final String[] SUBJECTS = { "Java", "DBMS", "OS", "Networks", "Maths", "Compilers" };
+    private static final String[] CRITERIA = { "Correctness", "Code quality", "Documentation", "Testing" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${seed.students:2000}")
+    private int students;
+
+    @Value("${seed.teachers:20}")
+    private int teachers;
+
+    @Value("${seed.cohorts:CSE – Semester 3,CSE – Semester 5,IT – Semester 4,IT – Semester 6,ECE – Semester 5}")
+    private String[] cohorts;
+
+    @Value("${seed.notes-per-teacher:25}")
+    private int notesPerTeacher;
+
+    @Value("${seed.assignments-per-teacher:10}")
+    private int assignmentsPerTeacher;
+
+    @Value("${seed.quizzes-per-teacher:5}")
+    private int quizzesPerTeacher;
+
+    @Value("${seed.questions-per-quiz:20}")
+    private int questionsPerQuiz;
+
+    // Fraction of assignments and notes restricted to a SELECTED_STUDENTS roster
+    @Value("${seed.selected-fraction:0.1}")
+    private double selectedFraction;
+
+    @Value("${seed.roster-size:15}")
+    private int rosterSize;
+
+    // Fraction of eligible students who submit each assignment / take each quiz
+    @Value("${seed.submission-rate:0.7}")
+    private double submissionRate;
+
+    // Fraction of submissions that have a grade; half of those are published
+    @Value("${seed.graded-rate:0.6}")
+    private double gradedRate;
+
+    @Value("${seed.password:password}")
+    private String password;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    public CampusSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'teacher1'", Integer.class);
+        if (existing != null && existing > 0) {
+            System.out.println("Campus already seeded, skipping");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> teacherIds = seedUsers("teacher", "TEACHER", teachers, now);
+        List<Long> studentIds = seedUsers("student", "STUDENT", students, now);
+        List<List<Long>> cohortStudents = new ArrayList<>();
+        for (int c = 0; c < cohorts.length; c++) {
+            cohortStudents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < studentIds.size(); i++) {
+            cohortStudents.get(i % cohorts.length).add(studentIds.get(i));
+        }
+
+        seedNotes(teacherIds, cohortStudents, random, now);
+        List<long[]> rubricCriteria = seedRubrics(teacherIds, now);
+        seedAssignmentsAndSubmissions(teacherIds, cohortStudents, rubricCriteria, random, now);
+        seedQuizzes(teacherIds, cohortStudents, random, now);
+
+        System.out.println("Seeded campus with " + students + " students and " + teachers + " teachers in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private List<Long> seedUsers(String prefix, String role, int count, LocalDateTime now) {
+        // One hash for everyone: BCrypt per row would dominate seeding time
+        String hash = passwordEncoder.encode(password);
+        Timestamp created = Timestamp.valueOf(now.minusDays(90));
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String cohort = "STUDENT".equals(role) ? cohorts[(i - 1) % cohorts.length] : null;
+            rows.add(new Object[] { prefix + i, hash, prefix + i + "@campus.test", role, "APPROVED", cohort, created, created });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, email, role, status, class_semester, created_at, approved_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE role = ? AND username LIKE ? ORDER BY id",
+                Long.class, role, prefix + "%");
+    }
+
+    private void seedNotes(List<Long> teacherIds, List<List<Long>> cohortStudents, Random random, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Boolean> selected = new ArrayList<>();
+        List<Integer> noteCohorts = new ArrayList<>();
+        for (int t = 0; t < teacherIds.size(); t++) {
+            for (int n = 0; n < notesPerTeacher; n++) {
+                int cohort = random.nextInt(cohorts.length);
+                boolean restricted = random.nextDouble() < selectedFraction;
+                String subject = SUBJECTS[(t + n) % SUBJECTS.length];
+                rows.add(new Object[] { subject + " notes " + (n + 1), "Unit " + (n % 12 + 1) + " lecture notes", subject,
+                        cohorts[cohort], restricted ? "SELECTED_STUDENTS" : "ALL_CLASS", teacherIds.get(t),
+                        Timestamp.valueOf(now.minusDays(random.nextInt(90))), "notes-" + (n + 1) + ".pdf", "application/pdf",
+                        "uploads/notes-" + (n + 1) + ".pdf" });
+                selected.add(restricted);
+                noteCohorts.add(cohort);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO notes (title, description, subject, class_semester, access_type, uploaded_by, upload_date, "
+                + "file_name, file_type, file_path) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        List<Long> noteIds = lastIds("notes", rows.size());
+        jdbcTemplate.batchUpdate("INSERT INTO note_assigned_students (note_id, student_id) VALUES (?, ?)",
+                rosterRows(noteIds, selected, noteCohorts, cohortStudents, random));
+    }
+
+    private List<long[]> seedRubrics(List<Long> teacherIds, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long teacherId : teacherIds) {
+            rows.add(new Object[] { "Programming assignment rubric", "Standard rubric", 100.0, teacherId, Timestamp.valueOf(now) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rubrics (title, description, total_marks, created_by, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+        List<Long> rubricIds = lastIds("rubrics", rows.size());
+
+        List<Object[]> criteriaRows = new ArrayList<>();
+        for (Long rubricId : rubricIds) {
+            for (int c = 0; c < CRITERIA.length; c++) {
+                criteriaRows.add(new Object[] { CRITERIA[c], CRITERIA[c] + " of the solution", 25.0, c, rubricId });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rubric_criteria (criteria_name, description, max_points, order_index, rubric_id) "
+                + "VALUES (?, ?, ?, ?, ?)", criteriaRows);
+        List<Long> criteriaIds = lastIds("rubric_criteria", criteriaRows.size());
+
+        // Per teacher: rubric id followed by its criteria ids
+        List<long[]> result = new ArrayList<>();
+        for (int t = 0; t < rubricIds.size(); t++) {
+            long[] entry = new long[CRITERIA.length + 1];
+            entry[0] = rubricIds.get(t);
+            for (int c = 0; c < CRITERIA.length; c++) {
+                entry[c + 1] = criteriaIds.get(t * CRITERIA.length + c);
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private void seedAssignmentsAndSubmissions(List<Long> teacherIds, List<List<Long>> cohortStudents, List<long[]> rubricCriteria,
+                                               Random random, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Boolean> selected = new ArrayList<>();
+        List<Integer> assignmentCohorts = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        List<LocalDateTime> dueDates = new ArrayList<>();
+        for (int t = 0; t < teacherIds.size(); t++) {
+            for (int a = 0; a < assignmentsPerTeacher; a++) {
+                int cohort = random.nextInt(cohorts.length);
+                boolean restricted = random.nextDouble() < selectedFraction;
+                // Spread due dates from six weeks ago to four weeks ahead
+                LocalDateTime due = now.minusDays(42).plusDays(random.nextInt(70));
+                String subject = SUBJECTS[(t + a) % SUBJECTS.length];
+                rows.add(new Object[] { subject + " assignment " + (a + 1), "Solve the exercises for unit " + (a % 12 + 1), subject,
+                        cohorts[cohort], restricted ? "SELECTED_STUDENTS" : "ALL_CLASS", teacherIds.get(t),
+                        Timestamp.valueOf(due.minusDays(14)), Timestamp.valueOf(due), "Upload a single PDF.", "FILE", 10,
+                        "pdf,docx,zip", "PENALTY", 100, rubricCriteria.get(t)[0] });
+                selected.add(restricted);
+                assignmentCohorts.add(cohort);
+                owners.add(t);
+                dueDates.add(due);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO assignments (title, description, subject, class_semester, access_type, created_by, "
+                + "create_date, due_date, instructions, submission_type, max_file_size, allowed_file_types, late_submission_policy, "
+                + "total_marks, rubric_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        List<Long> assignmentIds = lastIds("assignments", rows.size());
+        List<Object[]> rosters = rosterRows(assignmentIds, selected, assignmentCohorts, cohortStudents, random);
+        jdbcTemplate.batchUpdate("INSERT INTO assignment_assigned_students (assignment_id, student_id) VALUES (?, ?)", rosters);
+
+        // Submissions from eligible students: the cohort, or the roster for restricted assignments
+        Map<Long, List<Long>> eligible = new HashMap<>();
+        for (Object[] roster : rosters) {
+            eligible.computeIfAbsent((Long) roster[0], id -> new ArrayList<>()).add((Long) roster[1]);
+        }
+        List<Object[]> submissionRows = new ArrayList<>();
+        List<Integer> submissionAssignment = new ArrayList<>();
+        List<Boolean> submissionLate = new ArrayList<>();
+        for (int i = 0; i < assignmentIds.size(); i++) {
+            List<Long> candidates = selected.get(i) ? eligible.getOrDefault(assignmentIds.get(i), List.of()) : cohortStudents.get(assignmentCohorts.get(i));
+            LocalDateTime due = dueDates.get(i);
+            for (Long studentId : candidates) {
+                if (random.nextDouble() >= submissionRate) {
+                    continue;
+                }
+                // Roughly one in ten submissions arrives after the deadline
+                LocalDateTime submitted = random.nextInt(10) == 0 ? due.plusHours(1 + random.nextInt(48))
+                        : due.minusHours(1 + random.nextInt(240));
+                if (submitted.isAfter(now)) {
+                    continue;
+                }
+                submissionRows.add(new Object[] { assignmentIds.get(i), studentId, Timestamp.valueOf(submitted),
+                        "submission-" + studentId + ".pdf", "application/pdf", "uploads/submissions/submission-" + studentId + ".pdf" });
+                submissionAssignment.add(i);
+                submissionLate.add(submitted.isAfter(due));
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO submissions (assignment_id, submitted_by, submit_date, file_name, file_type, file_path) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", submissionRows);
+        List<Long> submissionIds = lastIds("submissions", submissionRows.size());
+
+        List<Object[]> gradeRows = new ArrayList<>();
+        List<Object[]> scoreRows = new ArrayList<>();
+        for (int s = 0; s < submissionIds.size(); s++) {
+            if (random.nextDouble() >= gradedRate) {
+                continue;
+            }
+            long[] criteria = rubricCriteria.get(owners.get(submissionAssignment.get(s)));
+            double total = 0;
+            for (int c = 1; c < criteria.length; c++) {
+                double score = 10 + random.nextInt(16);
+                total += score;
+                scoreRows.add(new Object[] { submissionIds.get(s), criteria[c], score, null });
+            }
+            boolean published = random.nextBoolean();
+            LocalDateTime gradedAt = now.minusDays(random.nextInt(14));
+            gradeRows.add(new Object[] { submissionIds.get(s), total, "Graded against the rubric", published ? "PUBLISHED" : "GRADED",
+                    submissionLate.get(s), Timestamp.valueOf(gradedAt), published ? Timestamp.valueOf(gradedAt.plusHours(2)) : null });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO grades (submission_id, marks, feedback, status, is_late_submission, graded_at, published_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", gradeRows);
+        jdbcTemplate.batchUpdate("INSERT INTO rubric_scores (submission_id, criteria_id, score, comments) VALUES (?, ?, ?, ?)", scoreRows);
+    }
+
+    private void seedQuizzes(List<Long> teacherIds, List<List<Long>> cohortStudents, Random random, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Integer> quizCohorts = new ArrayList<>();
+        for (int t = 0; t < teacherIds.size(); t++) {
+            for (int q = 0; q < quizzesPerTeacher; q++) {
+                int cohort = random.nextInt(cohorts.length);
+                String subject = SUBJECTS[(t + q) % SUBJECTS.length];
+                rows.add(new Object[] { subject + " quiz " + (q + 1), "Weekly assessment", subject, cohorts[cohort], "ALL_CLASS",
+                        questionsPerQuiz * 2, 40, 30, 1, random.nextInt(4) == 0, "PUBLISHED", teacherIds.get(t),
+                        Timestamp.valueOf(now.minusDays(random.nextInt(30))) });
+                quizCohorts.add(cohort);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO quizzes (title, description, subject, class_semester, access_type, total_marks, "
+                + "passing_marks, time_limit, max_attempts, negative_marking, visibility, created_by, create_date) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        List<Long> quizIds = lastIds("quizzes", rows.size());
+
+        // Questions cycle MCQ, TRUE_FALSE, SHORT_ANSWER; MCQ always has four options
+        List<Object[]> questionRows = new ArrayList<>();
+        for (Long quizId : quizIds) {
+            for (int i = 0; i < questionsPerQuiz; i++) {
+                String type = i % 3 == 0 ? "MCQ" : i % 3 == 1 ? "TRUE_FALSE" : "SHORT_ANSWER";
+                questionRows.add(new Object[] { quizId, "Question " + (i + 1), type, 2,
+                        "SHORT_ANSWER".equals(type) ? "answer " + (i + 1) : null, "MCQ".equals(type) ? "Option " + (i % 4 + 1) : null, i });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO quiz_questions (quiz_id, question_text, question_type, marks, correct_answer, "
+                + "correct_answer_text, order_index) VALUES (?, ?, ?, ?, ?, ?, ?)", questionRows);
+        List<Long> questionIds = lastIds("quiz_questions", questionRows.size());
+
+        List<Object[]> optionRows = new ArrayList<>();
+        for (int q = 0; q < questionIds.size(); q++) {
+            Object[] question = questionRows.get(q);
+            if ("MCQ".equals(question[2])) {
+                for (int o = 1; o <= 4; o++) {
+                    String text = "Option " + o;
+                    optionRows.add(new Object[] { questionIds.get(q), text, text.equals(question[5]) });
+                }
+            } else if ("TRUE_FALSE".equals(question[2])) {
+                boolean answer = random.nextBoolean();
+                optionRows.add(new Object[] { questionIds.get(q), "True", answer });
+                optionRows.add(new Object[] { questionIds.get(q), "False", !answer });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO quiz_options (question_id, option_text, is_correct) VALUES (?, ?, ?)", optionRows);
+
+        List<Object[]> attempts = new ArrayList<>();
+        for (int q = 0; q < quizIds.size(); q++) {
+            for (Long studentId : cohortStudents.get(quizCohorts.get(q))) {
+                if (random.nextDouble() < submissionRate) {
+                    attempts.add(new Object[] { quizIds.get(q), studentId, "{}", (double) random.nextInt(questionsPerQuiz * 2 + 1),
+                            Timestamp.valueOf(now.minusDays(random.nextInt(30))) });
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO quiz_submissions (quiz_id, submitted_by, answers, score, submit_date) VALUES (?, ?, ?, ?, ?)",
+                attempts);
+    }
+
+    // Roster rows for the restricted items, drawn from each item's cohort
+    private List<Object[]> rosterRows(List<Long> ids, List<Boolean> selected, List<Integer> itemCohorts, List<List<Long>> cohortStudents,
+                                      Random random) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (!selected.get(i)) {
+                continue;
+            }
+            List<Long> pool = cohortStudents.get(itemCohorts.get(i));
+            if (pool.isEmpty()) {
+                continue;
+            }
+            int size = Math.min(rosterSize, pool.size());
+            int offset = random.nextInt(pool.size());
+            for (int j = 0; j < size; j++) {
+                rows.add(new Object[] { ids.get(i), pool.get((offset + j) % pool.size()) });
+            }
+        }
+        return rows;
+    }
+
+    // Ids of the rows just inserted; the seeder is the only writer while it runs
+    private List<Long> lastIds(String table, int count) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id DESC LIMIT ?", Long.class, count);
+        Collections.reverse(ids);
+        return ids;
+    }
+}
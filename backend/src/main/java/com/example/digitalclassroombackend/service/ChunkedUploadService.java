@@ -0,0 +1,492 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.example.digitalclassroombackend.model.FileBlob;
+import com.example.digitalclassroombackend.model.UploadSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Resumable chunked uploads for files that are too large or too fragile for
+ * one multipart request. A client starts a session, PUTs chunks 0..n-1 in
+ * order with the SHA-256 of each, then commits. Each chunk is appended
+ * straight to a staging file, so a request uses one copy buffer whatever the
+ * file size. After a dropped connection the client reads the session and
+ * resends from {@code receivedChunks}. Commit moves the file into the
+ * {@link BlobStore}; the note, assignment and submission endpoints then attach
+ * it when given the session id as {@code uploadId}.
+ *
+ * Sessions are read and written with JDBC only, so a chunk arriving over a
+ * slow link does not hold an open-in-view JPA connection.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private static final RowMapper<UploadSession> SESSION_MAPPER = (rs, rowNum) -> {
+        UploadSession session = new UploadSession();
+        session.setId(rs.getString("id"));
+        session.setOwnerId(rs.getLong("owner_id"));
+        session.setFileName(rs.getString("file_name"));
+        session.setContentType(rs.getString("content_type"));
+        session.setTotalBytes(rs.getLong("total_bytes"));
+        session.setChunkSize(rs.getInt("chunk_size"));
+        session.setReceivedChunks(rs.getInt("received_chunks"));
+        session.setReceivedBytes(rs.getLong("received_bytes"));
+        session.setStatus(rs.getString("status"));
+        session.setBlobHash(rs.getString("blob_hash"));
+        session.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        session.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return session;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final Path stagingDir;
+    private final long maxFileSize;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final Duration expiry;
+
+    // Serializes requests per session and carries the running file digest between chunks
+    private final Map<String, OpenUpload> openUploads = new ConcurrentHashMap<>();
+
+    private final Counter chunksAccepted;
+    private final Counter chunksDuplicate;
+    private final Counter chunksRejected;
+    private final Counter bytesReceived;
+    private final Counter sessionsStarted;
+    private final Counter sessionsCommitted;
+    private final Counter sessionsExpired;
+
+    public ChunkedUploadService(JdbcTemplate jdbcTemplate, BlobStore blobStore, MeterRegistry meterRegistry,
+                                @Value("${storage.chunked-upload.staging-dir:uploads/blobs/staging}") String stagingDir,
+                                @Value("${storage.chunked-upload.max-file-size:1GB}") DataSize maxFileSize,
+                                @Value("${storage.chunked-upload.chunk-size:8MB}") DataSize defaultChunkSize,
+                                @Value("${storage.chunked-upload.max-chunk-size:32MB}") DataSize maxChunkSize,
+                                @Value("${storage.chunked-upload.expiry-minutes:1440}") long expiryMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.stagingDir = Paths.get(stagingDir);
+        this.maxFileSize = maxFileSize.toBytes();
+        this.defaultChunkSize = (int) defaultChunkSize.toBytes();
+        this.maxChunkSize = (int) maxChunkSize.toBytes();
+        this.expiry = Duration.ofMinutes(expiryMinutes);
+
+        this.chunksAccepted = Counter.builder("storage.chunked.chunks").tag("result", "accepted")
+                .description("Chunks received by chunked uploads")
+                .register(meterRegistry);
+        this.chunksDuplicate = Counter.builder("storage.chunked.chunks").tag("result", "duplicate")
+                .description("Chunks received by chunked uploads")
+                .register(meterRegistry);
+        this.chunksRejected = Counter.builder("storage.chunked.chunks").tag("result", "rejected")
+                .description("Chunks received by chunked uploads")
+                .register(meterRegistry);
+        this.bytesReceived = Counter.builder("storage.chunked.bytes")
+                .description("Bytes appended to chunked upload staging files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.sessionsStarted = Counter.builder("storage.chunked.sessions").tag("result", "started")
+                .description("Chunked upload sessions")
+                .register(meterRegistry);
+        this.sessionsCommitted = Counter.builder("storage.chunked.sessions").tag("result", "committed")
+                .description("Chunked upload sessions")
+                .register(meterRegistry);
+        this.sessionsExpired = Counter.builder("storage.chunked.sessions").tag("result", "expired")
+                .description("Chunked upload sessions")
+                .register(meterRegistry);
+    }
+
+    public UploadSession start(Long ownerId, String fileName, String contentType, long totalBytes, Integer chunkSize)
+            throws IOException {
+        if (fileName == null || fileName.isBlank()) {
+            throw new UploadException(400, "fileName is required");
+        }
+        if (totalBytes <= 0) {
+            throw new UploadException(400, "totalBytes must be positive");
+        }
+        if (totalBytes > maxFileSize) {
+            throw new UploadException(413, "File exceeds the " + (maxFileSize >> 20) + " MB upload limit");
+        }
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < MIN_CHUNK_SIZE || size > maxChunkSize) {
+            throw new UploadException(400, "chunkSize must be between " + MIN_CHUNK_SIZE + " and " + maxChunkSize + " bytes");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setOwnerId(ownerId);
+        session.setFileName(fileName);
+        session.setContentType(contentType != null && !contentType.isBlank() ? contentType : "application/octet-stream");
+        session.setTotalBytes(totalBytes);
+        session.setChunkSize(size);
+        session.setStatus("OPEN");
+        session.setCreatedAt(now);
+        session.setUpdatedAt(now);
+
+        Files.createDirectories(stagingDir);
+        Files.deleteIfExists(stagingPath(session.getId()));
+        Files.createFile(stagingPath(session.getId()));
+        jdbcTemplate.update("INSERT INTO upload_sessions (id, owner_id, file_name, content_type, total_bytes, chunk_size, "
+                        + "received_chunks, received_bytes, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 0, 0, 'OPEN', ?, ?)",
+                session.getId(), ownerId, session.getFileName(), session.getContentType(), totalBytes, size,
+                Timestamp.valueOf(now), Timestamp.valueOf(now));
+        sessionsStarted.increment();
+        return session;
+    }
+
+    // Sessions of other users are reported as missing
+    public UploadSession get(String uploadId, Long ownerId) {
+        List<UploadSession> sessions = jdbcTemplate.query("SELECT * FROM upload_sessions WHERE id = ?", SESSION_MAPPER, uploadId);
+        if (sessions.isEmpty() || !sessions.get(0).getOwnerId().equals(ownerId)) {
+            throw new UploadException(404, "Upload not found");
+        }
+        return sessions.get(0);
+    }
+
+    /**
+     * Appends chunk {@code index} if it is the next one expected. A chunk that
+     * was already received is acknowledged without being written again, so a
+     * client that lost the response can simply retry. The chunk is checked
+     * against its length and SHA-256; a bad chunk is cut off again and
+     * rejected.
+     */
+    public UploadSession writeChunk(String uploadId, Long ownerId, int index, String sha256, InputStream body) throws IOException {
+        if (sha256 == null || sha256.isBlank()) {
+            throw new UploadException(400, "Chunk SHA-256 is required");
+        }
+        OpenUpload upload = lockFor(uploadId, ownerId);
+        try {
+            UploadSession session = get(uploadId, ownerId);
+            if (!"OPEN".equals(session.getStatus())) {
+                throw new UploadException(409, "Upload is already committed");
+            }
+            if (index < session.getReceivedChunks()) {
+                chunksDuplicate.increment();
+                return session;
+            }
+            if (index >= session.getTotalChunks()) {
+                throw new UploadException(400, "Chunk " + index + " is past the end of the file");
+            }
+            if (index != session.getReceivedChunks()) {
+                throw new UploadException(409, "Expected chunk " + session.getReceivedChunks());
+            }
+
+            long offset = session.getReceivedBytes();
+            long expected = Math.min(session.getChunkSize(), session.getTotalBytes() - offset);
+            MessageDigest chunkDigest = sha256();
+            // Continue the whole-file digest only if it covers everything before this chunk (not after a restart)
+            MessageDigest fileDigest = upload.digestedBytes == offset ? copyOf(upload.fileDigest) : null;
+
+            try (FileChannel channel = FileChannel.open(stagingPath(uploadId), StandardOpenOption.WRITE)) {
+                // Drops whatever a failed earlier attempt at this chunk left behind
+                channel.truncate(offset);
+                long written;
+                try {
+                    written = append(body, channel, offset, expected, chunkDigest, fileDigest);
+                } catch (IOException e) {
+                    channel.truncate(offset);
+                    throw e;
+                }
+                String error = null;
+                if (written != expected) {
+                    error = "Chunk " + index + " must be " + expected + " bytes";
+                } else if (!HexFormat.of().formatHex(chunkDigest.digest()).equalsIgnoreCase(sha256.trim())) {
+                    error = "Chunk " + index + " does not match its SHA-256";
+                }
+                if (error != null) {
+                    channel.truncate(offset);
+                    chunksRejected.increment();
+                    throw new UploadException(400, error);
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update("UPDATE upload_sessions SET received_chunks = ?, received_bytes = ?, updated_at = ? WHERE id = ?",
+                    index + 1, offset + expected, Timestamp.valueOf(now), uploadId);
+            if (fileDigest != null) {
+                upload.fileDigest = fileDigest;
+                upload.digestedBytes = offset + expected;
+            }
+            chunksAccepted.increment();
+            bytesReceived.increment(expected);
+
+            session.setReceivedChunks(index + 1);
+            session.setReceivedBytes(offset + expected);
+            session.setUpdatedAt(now);
+            return session;
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the complete file into the blob store. Repeating the commit of a
+     * committed upload returns it unchanged. {@code sha256} is optional and
+     * checked against the whole file when given.
+     */
+    public UploadSession commit(String uploadId, Long ownerId, String sha256) throws IOException {
+        OpenUpload upload = lockFor(uploadId, ownerId);
+        try {
+            UploadSession session = get(uploadId, ownerId);
+            if ("COMMITTED".equals(session.getStatus())) {
+                return session;
+            }
+            if (session.getReceivedBytes() < session.getTotalBytes()) {
+                throw new UploadException(409, "Upload incomplete: " + session.getReceivedChunks() + " of "
+                        + session.getTotalChunks() + " chunks received");
+            }
+
+            Path staged = stagingPath(uploadId);
+            String hash = upload.digestedBytes == session.getTotalBytes()
+                    ? HexFormat.of().formatHex(upload.fileDigest.digest())
+                    : hashFile(staged);
+            // digest() reset the running digest; a retried commit hashes the file again
+            upload.digestedBytes = -1;
+            if (sha256 != null && !sha256.isBlank() && !hash.equalsIgnoreCase(sha256.trim())) {
+                throw new UploadException(400, "File does not match its SHA-256");
+            }
+
+            FileBlob blob = blobStore.store(staged, hash);
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update("UPDATE upload_sessions SET status = 'COMMITTED', blob_hash = ?, updated_at = ? WHERE id = ?",
+                    blob.getHash(), Timestamp.valueOf(now), uploadId);
+            openUploads.remove(uploadId);
+            sessionsCommitted.increment();
+
+            session.setStatus("COMMITTED");
+            session.setBlobHash(blob.getHash());
+            session.setUpdatedAt(now);
+            return session;
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    /**
+     * Resolves a committed upload for attaching to an entity and renews its
+     * blob's grace period. Call {@link #release(String)} once the entity
+     * referencing the blob is saved.
+     */
+    public Attachment claim(String uploadId, Long ownerId) {
+        UploadSession session = get(uploadId, ownerId);
+        if (!"COMMITTED".equals(session.getStatus())) {
+            throw new UploadException(409, "Upload has not been committed");
+        }
+        FileBlob blob = blobStore.retain(session.getBlobHash());
+        if (blob == null) {
+            throw new UploadException(410, "Upload expired, please upload the file again");
+        }
+        return new Attachment(blob, session.getFileName(), session.getContentType());
+    }
+
+    public void release(String uploadId) {
+        jdbcTemplate.update("DELETE FROM upload_sessions WHERE id = ?", uploadId);
+    }
+
+    public void abort(String uploadId, Long ownerId) throws IOException {
+        OpenUpload upload = lockFor(uploadId, ownerId);
+        try {
+            get(uploadId, ownerId);
+            jdbcTemplate.update("DELETE FROM upload_sessions WHERE id = ?", uploadId);
+            Files.deleteIfExists(stagingPath(uploadId));
+            openUploads.remove(uploadId);
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops sessions idle for longer than the expiry along with their staging
+     * files. A committed but never attached upload leaves an unreferenced blob
+     * behind, which the blob store's GC removes.
+     */
+    @Scheduled(fixedDelayString = "${storage.chunked-upload.cleanup-interval-ms:3600000}",
+               initialDelayString = "${storage.chunked-upload.cleanup-interval-ms:3600000}")
+    public int expireSessions() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(expiry));
+        int expired = 0;
+        for (String id : jdbcTemplate.queryForList("SELECT id FROM upload_sessions WHERE updated_at < ?", String.class, cutoff)) {
+            OpenUpload upload = openUploads.computeIfAbsent(id, key -> new OpenUpload());
+            upload.lock.lock();
+            try {
+                // Re-checked under the lock: a chunk may have arrived since the select
+                if (jdbcTemplate.update("DELETE FROM upload_sessions WHERE id = ? AND updated_at < ?", id, cutoff) == 1) {
+                    openUploads.remove(id);
+                    Files.deleteIfExists(stagingPath(id));
+                    expired++;
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to delete staging file of upload " + id + ": " + e.getMessage());
+            } finally {
+                upload.lock.unlock();
+            }
+        }
+        int orphans = deleteOrphanStagingFiles(cutoff.getTime());
+        sessionsExpired.increment(expired);
+        if (expired > 0 || orphans > 0) {
+            System.out.println("Expired " + expired + " chunked uploads and " + orphans + " orphaned staging files");
+        }
+        return expired;
+    }
+
+    // Checks the session exists first so requests for unknown ids leave nothing behind in the map
+    private OpenUpload lockFor(String uploadId, Long ownerId) {
+        get(uploadId, ownerId);
+        OpenUpload upload = openUploads.computeIfAbsent(uploadId, id -> new OpenUpload());
+        upload.lock.lock();
+        return upload;
+    }
+
+    private Path stagingPath(String uploadId) {
+        return stagingDir.resolve(uploadId + ".part");
+    }
+
+    // Copies at most expected + 1 bytes, enough to tell an oversized chunk apart
+    private static long append(InputStream body, FileChannel channel, long position, long expected,
+                               MessageDigest chunkDigest, MessageDigest fileDigest) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        while (total <= expected) {
+            int n = body.read(buffer, 0, (int) Math.min(buffer.length, expected + 1 - total));
+            if (n < 0) {
+                break;
+            }
+            total += n;
+            if (total > expected) {
+                break;
+            }
+            chunkDigest.update(buffer, 0, n);
+            if (fileDigest != null) {
+                fileDigest.update(buffer, 0, n);
+            }
+            ByteBuffer data = ByteBuffer.wrap(buffer, 0, n);
+            while (data.hasRemaining()) {
+                position += channel.write(data, position);
+            }
+        }
+        return total;
+    }
+
+    private int deleteOrphanStagingFiles(long cutoffMillis) {
+        if (!Files.isDirectory(stagingDir)) {
+            return 0;
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String id = file.getFileName().toString().replace(".part", "");
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis
+                        && jdbcTemplate.queryForObject("SELECT COUNT(*) FROM upload_sessions WHERE id = ?", Integer.class, id) == 0
+                        && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to clean chunked upload staging directory: " + e.getMessage());
+        }
+        return removed;
+    }
+
+    private static String hashFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest copyOf(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class OpenUpload {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest fileDigest = sha256();
+        private long digestedBytes;
+    }
+
+    /** A committed upload ready to be referenced by a note, assignment or submission. */
+    public static final class Attachment {
+        private final FileBlob blob;
+        private final String fileName;
+        private final String contentType;
+
+        private Attachment(FileBlob blob, String fileName, String contentType) {
+            this.blob = blob;
+            this.fileName = fileName;
+            this.contentType = contentType;
+        }
+
+        public FileBlob getBlob() {
+            return blob;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /** A request the upload protocol refuses; {@code status} is the HTTP status to answer with. */
+    public static final class UploadException extends RuntimeException {
+        private final int status;
+
+        public UploadException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+
+/**
+ * {@link RemoteFileStore} backed by Cloudinary. The SDK is given the file
+ * itself, so the multipart body is streamed from disk rather than built from
+ * a byte array. Set {@code cloudinary.upload-prefix} to aim it at a fake server.
+ */
+@Component
+public class CloudinaryFileStore implements RemoteFileStore {
+
+    private final Cloudinary cloudinary;
+    private final int timeoutMillis;
+
+    public CloudinaryFileStore(Cloudinary cloudinary, @Value("${storage.remote.timeout-ms:120000}") int timeoutMillis) {
+        this.cloudinary = cloudinary;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public StoredFile upload(Path file, String publicId, String contentType) throws IOException {
+        Map<?, ?> result = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                "resource_type", "auto",
+                "public_id", publicId,
+                "overwrite", true,
+                "timeout", timeoutMillis // socket read timeout, milliseconds
+        ));
+        String secureUrl = (String) result.get("secure_url");
+        if (secureUrl == null) {
+            throw new IOException("Cloudinary response has no secure_url: " + result);
+        }
+        return new StoredFile(secureUrl, (String) result.get("public_id"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.digitalclassroombackend.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles and LSH banding to find candidate
+ * pairs without comparing every pair. The fraction of equal signature slots
+ * estimates the Jaccard similarity of two documents' shingle sets; with 32
+ * bands of 4 rows a pair at 0.5 similarity becomes a candidate 87% of the
+ * time, at 0.7 over 99%, and at 0.2 about 5%.
+ */
+public final class MinHash {
+
+    public static final int HASHES = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS = HASHES / BANDS;
+    public static final int SHINGLE_WORDS = 3;
+
+    // h_i(x) = high 32 bits of (a_i * x + b_i), a_i odd: multiply-shift hashing, one multiply per slot
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] OFFSETS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_1DEAL);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1L;
+            OFFSETS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /** Signature of the document's {@link #SHINGLE_WORDS}-word shingles, or null without any words. */
+    public static int[] signature(List<String> words) {
+        if (words.isEmpty()) {
+            return null;
+        }
+        long[] wordHashes = new long[words.size()];
+        for (int i = 0; i < wordHashes.length; i++) {
+            wordHashes[i] = fnv1a(words.get(i));
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        // A document shorter than one shingle is a single shingle of all its words
+        int shingles = Math.max(1, wordHashes.length - SHINGLE_WORDS + 1);
+        int width = Math.min(SHINGLE_WORDS, wordHashes.length);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int i = start; i < start + width; i++) {
+                shingle = shingle * 0x100000001B3L + wordHashes[i];
+            }
+            shingle = mix(shingle);
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) ((MULTIPLIERS[h] * shingle + OFFSETS[h]) >>> 32);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static int shingleCount(int wordCount) {
+        return wordCount == 0 ? 0 : Math.max(1, wordCount - SHINGLE_WORDS + 1);
+    }
+
+    /** Estimated Jaccard similarity: the fraction of slots where the signatures agree. */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    /**
+     * Index pairs (i < j) of signatures that share at least one band, each
+     * pair once, packed as {@code (long) i << 32 | j}. Near-linear in the
+     * number of signatures unless many documents share a band.
+     */
+    public static long[] candidatePairs(List<int[]> signatures) {
+        Set<Long> pairs = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < signatures.size(); i++) {
+                int[] signature = signatures.get(i);
+                if (signature != null) {
+                    buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(2)).add(i);
+                }
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int x = 0; x < bucket.size(); x++) {
+                    for (int y = x + 1; y < bucket.size(); y++) {
+                        pairs.add((long) bucket.get(x) << 32 | bucket.get(y));
+                    }
+                }
+            }
+        }
+        long[] result = new long[pairs.size()];
+        int i = 0;
+        for (Long pair : pairs) {
+            result[i++] = pair;
+        }
+        return result;
+    }
+
+    public static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(HASHES * Integer.BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    public static int[] decode(byte[] bytes) {
+        if (bytes == null || bytes.length != HASHES * Integer.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return mix(key);
+    }
+
+    private static long fnv1a(String word) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.digitalclassroombackend.service;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.digitalclassroombackend.model.Note;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves staged note files to the {@link RemoteFileStore} in the background.
+ * A note is saved as {@code UPLOADING} with its file in the local blob store
+ * (and downloadable from there); a worker then uploads it, retrying with
+ * exponential backoff. On success the note gets its remote URL and releases
+ * the local blob; after the last failed attempt it is marked {@code LOCAL} and
+ * keeps being served from disk. Notes still {@code UPLOADING} at startup are
+ * picked up again.
+ */
+@Service
+public class NoteUploadService {
+
+    private final NoteRepository noteRepository;
+    private final RemoteFileStore remoteFileStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Counter succeeded;
+    private final Counter retried;
+    private final Counter gaveUp;
+    private final Timer uploadTimer;
+
+    public NoteUploadService(NoteRepository noteRepository, RemoteFileStore remoteFileStore, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${storage.remote.upload-threads:4}") int threads,
+                             @Value("${storage.remote.max-attempts:5}") int maxAttempts,
+                             @Value("${storage.remote.retry-delay-ms:2000}") long retryDelayMillis,
+                             Environment environment) {
+        this.noteRepository = noteRepository;
+        this.remoteFileStore = remoteFileStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMillis = retryDelayMillis;
+
+        // Uploads block on the network, so in virtual-thread mode the workers are virtual; the pool size still caps concurrent uploads
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = task -> {
+            Thread thread = new Thread(task, "note-upload-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("note-upload-").getVirtualThreadFactory();
+        }
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), threadFactory);
+
+        this.succeeded = Counter.builder("storage.remote.uploads").tag("result", "success")
+                .description("Background uploads of note files to the remote store")
+                .register(meterRegistry);
+        this.retried = Counter.builder("storage.remote.uploads").tag("result", "retry")
+                .description("Background uploads of note files to the remote store")
+                .register(meterRegistry);
+        this.gaveUp = Counter.builder("storage.remote.uploads").tag("result", "failed")
+                .description("Background uploads of note files to the remote store")
+                .register(meterRegistry);
+        this.uploadTimer = Timer.builder("storage.remote.upload")
+                .description("Duration of a single remote upload attempt")
+                .register(meterRegistry);
+        Gauge.builder("storage.remote.upload.pending", executor, e -> e.getQueue().size())
+                .description("Remote uploads waiting for a worker or a retry")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        List<Note> pending = noteRepository.findByUploadStatus("UPLOADING");
+        for (Note note : pending) {
+            submit(note);
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("Resuming remote upload of " + pending.size() + " notes");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Unfinished notes stay UPLOADING and are resumed on the next start
+        executor.shutdownNow();
+    }
+
+    // The note must already be saved with its staged blob
+    public void submit(Note note) {
+        Upload upload = new Upload(note.getId(), note.getBlobHash(), Paths.get(note.getFilePath()),
+                "notes/" + note.getId() + "_" + note.getFileName(), note.getFileType());
+        executor.execute(() -> attempt(upload, 1));
+    }
+
+    public int getPendingCount() {
+        return executor.getQueue().size();
+    }
+
+    private void attempt(Upload upload, int attempt) {
+        RemoteFileStore.StoredFile stored;
+        try {
+            long startedAt = System.nanoTime();
+            stored = remoteFileStore.upload(upload.path, upload.publicId, upload.contentType);
+            uploadTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            if (attempt < maxAttempts) {
+                long delay = retryDelayMillis << Math.min(attempt - 1, 10);
+                System.err.println("Remote upload of note " + upload.noteId + " failed (attempt " + attempt + "), retrying in "
+                        + delay + "ms: " + e.getMessage());
+                retried.increment();
+                executor.schedule(() -> attempt(upload, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } else {
+                System.err.println("Remote upload of note " + upload.noteId + " gave up after " + attempt
+                        + " attempts, keeping the local copy: " + e.getMessage());
+                gaveUp.increment();
+                jdbcTemplate.update("UPDATE notes SET upload_status = 'LOCAL' WHERE id = ? AND upload_status = 'UPLOADING'",
+                        upload.noteId);
+            }
+            return;
+        }
+
+        // Switch the note to the remote copy and drop its reference to the staged blob in one transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = jdbcTemplate.update("UPDATE notes SET file_url = ?, file_path = ?, blob_hash = NULL, upload_status = 'READY' "
+                    + "WHERE id = ? AND upload_status = 'UPLOADING'", stored.getUrl(), stored.getRemoteId(), upload.noteId);
+            if (updated == 1 && upload.blobHash != null) {
+                jdbcTemplate.update("UPDATE file_blobs SET ref_count = ref_count - 1 WHERE hash = ?", upload.blobHash);
+            }
+        });
+        succeeded.increment();
+    }
+
+    private static final class Upload {
+        private final Long noteId;
+        private final String blobHash;
+        private final Path path;
+        private final String publicId;
+        private final String contentType;
+
+        private Upload(Long noteId, String blobHash, Path path, String publicId, String contentType) {
+            this.noteId = noteId;
+            this.blobHash = blobHash;
+            this.path = path;
+            this.publicId = publicId;
+            this.contentType = contentType;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.model.Note;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+
+/**
+ * In-memory entitlement index for notes. Visible note ids are kept as bitmaps:
+ * one per class/semester for ALL_CLASS notes and one per student for
+ * SELECTED_STUDENTS notes. A student's visible notes are the OR of their
+ * cohort bitmap and their own bitmap, so no note rows or rosters have to be
+ * loaded to answer the question.
+ *
+ * Note ids are dense auto-increment values, which keeps {@link BitSet}s small.
+ */
+@Component
+public class NoteVisibilityIndex {
+
+    private final NoteRepository noteRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, BitSet> notesByClassSemester = new HashMap<>();
+    private final Map<Long, BitSet> notesByStudent = new HashMap<>();
+    private volatile boolean built;
+
+    public NoteVisibilityIndex(NoteRepository noteRepository) {
+        this.noteRepository = noteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Builds the index on first use; concurrent first callers wait for a single load
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock, so no add() can land between the queries and the swap
+    private void load() {
+        List<Object[]> classNotes = noteRepository.findAllClassNoteIds();
+        List<Object[]> rosterRows = noteRepository.findSelectedStudentNoteIds();
+        notesByClassSemester.clear();
+        notesByStudent.clear();
+        for (Object[] row : classNotes) {
+            indexClassNote((Long) row[0], (String) row[1]);
+        }
+        for (Object[] row : rosterRows) {
+            indexStudentNote((Long) row[0], (Long) row[1]);
+        }
+        built = true;
+    }
+
+    // Called after a note has been saved
+    public void add(Note note) {
+        if (note.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if ("ALL_CLASS".equals(note.getAccessType())) {
+                indexClassNote(note.getId(), note.getClassSemester());
+            } else if ("SELECTED_STUDENTS".equals(note.getAccessType()) && note.getAssignedStudents() != null) {
+                for (User student : note.getAssignedStudents()) {
+                    indexStudentNote(note.getId(), student.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of notes the student may see, in ascending id order
+    public List<Long> visibleNoteIds(Long studentId, String classSemester) {
+        ensureBuilt();
+        BitSet visible = new BitSet();
+        lock.readLock().lock();
+        try {
+            if (classSemester != null) {
+                BitSet cohort = notesByClassSemester.get(classSemester);
+                if (cohort != null) {
+                    visible.or(cohort);
+                }
+            }
+            BitSet own = notesByStudent.get(studentId);
+            if (own != null) {
+                visible.or(own);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = new ArrayList<>(visible.cardinality());
+        for (int id = visible.nextSetBit(0); id >= 0; id = visible.nextSetBit(id + 1)) {
+            ids.add((long) id);
+        }
+        return ids;
+    }
+
+    private void indexClassNote(Long noteId, String classSemester) {
+        if (classSemester != null) {
+            notesByClassSemester.computeIfAbsent(classSemester, key -> new BitSet()).set(Math.toIntExact(noteId));
+        }
+    }
+
+    private void indexStudentNote(Long noteId, Long studentId) {
+        if (studentId != null) {
+            notesByStudent.computeIfAbsent(studentId, key -> new BitSet()).set(Math.toIntExact(noteId));
+        }
+    }
+}
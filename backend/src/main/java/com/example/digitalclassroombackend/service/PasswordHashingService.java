@@ -0,0 +1,148 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt verification on a small pool sized to the CPU count instead of
+ * on Tomcat worker threads. The pool has a bounded queue; when it is full the
+ * caller gets a {@link RejectedExecutionException} straight away so login can
+ * answer 503 rather than pile up requests behind the hash. Hashes stored with
+ * a cost other than {@code auth.bcrypt.strength} are re-encoded after a
+ * successful login.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+    private final Counter rehashed;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, UserRepository userRepository, MeterRegistry meterRegistry,
+                                  @Value("${auth.bcrypt.strength:10}") int strength,
+                                  @Value("${auth.password-hashing.threads:0}") int threads,
+                                  @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.strength = strength;
+
+        // BCrypt is pure CPU work, so more threads than cores only adds contention
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("Time spent verifying a password hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a password verification waited for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Password verifications rejected because the hashing queue was full")
+                .register(meterRegistry);
+        this.rehashed = Counter.builder("auth.password.rehashed")
+                .description("Stored password hashes re-encoded with the configured BCrypt cost")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password verifications waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Verifies the password on the hashing pool. Throws RejectedExecutionException
+     * immediately when the pool is saturated.
+     */
+    public CompletableFuture<Boolean> verify(User user, String rawPassword) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+
+                String stored = user.getPassword();
+                boolean matches = rawPassword != null && stored != null && passwordEncoder.matches(rawPassword, stored);
+                hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+                if (matches && needsRehash(stored)) {
+                    rehash(user, rawPassword);
+                }
+                return matches;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    // Compares the cost field of "$2a$10$..." so lowering the strength also triggers a rehash
+    private boolean needsRehash(String hash) {
+        if (hash.length() > 7 && hash.charAt(0) == '$' && hash.charAt(3) == '$' && hash.charAt(6) == '$') {
+            try {
+                return Integer.parseInt(hash.substring(4, 6)) != strength;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    private void rehash(User user, String rawPassword) {
+        try {
+            String encoded = passwordEncoder.encode(rawPassword);
+            // Targeted update so a concurrent admin change to status or role is not overwritten
+            userRepository.updatePassword(user.getId(), user.getPassword(), encoded);
+            user.setPassword(encoded);
+            rehashed.increment();
+        } catch (Exception e) {
+            // The login itself succeeded; the rehash is retried on the next one
+            System.err.println("Password rehash failed for user " + user.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
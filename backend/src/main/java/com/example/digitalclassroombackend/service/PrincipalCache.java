@@ -0,0 +1,88 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.digitalclassroombackend.config.AuthenticatedUser;
+import com.example.digitalclassroombackend.repository.UserRepository;
+
+/**
+ * Bounded, TTL-based cache of {@link AuthenticatedUser} by username so the JWT
+ * filter does not query {@code users} on every request. Entries are dropped by
+ * {@link #invalidate(String)} whenever an admin changes a user's status or role,
+ * and otherwise expire after {@code auth.principal-cache.ttl-seconds}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${auth.principal-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    // Returns null when no such user exists
+    public AuthenticatedUser get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.principal;
+        }
+
+        long observed = generation.get();
+        AuthenticatedUser principal = userRepository.findByUsername(username).map(AuthenticatedUser::of).orElse(null);
+        if (principal != null && generation.get() == observed) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(username, new Entry(principal, now + ttlMillis));
+        }
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    // Drop expired entries; if that is not enough, drop the ones closest to expiry
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        if (entries.size() < maxSize) {
+            return;
+        }
+        long cutoff = entries.values().stream()
+                .mapToLong(entry -> entry.expiresAt)
+                .sorted()
+                .skip(Math.max(0, entries.size() / 10 - 1))
+                .findFirst()
+                .orElse(Long.MAX_VALUE);
+        entries.values().removeIf(entry -> entry.expiresAt <= cutoff);
+    }
+
+    private static final class Entry {
+        private final AuthenticatedUser principal;
+        private final long expiresAt;
+
+        private Entry(AuthenticatedUser principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
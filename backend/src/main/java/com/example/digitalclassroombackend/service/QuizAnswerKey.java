@@ -0,0 +1,201 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.QuizOption;
+import com.example.digitalclassroombackend.model.QuizQuestion;
+
+/**
+ * Immutable, compiled answer key for one quiz. Questions are held in
+ * primitive arrays sorted by id, so scoring a submission is a binary search
+ * plus an allocation-free comparison per answer.
+ */
+public final class QuizAnswerKey {
+
+    private static final byte MCQ = 1;
+    private static final byte TRUE_FALSE = 2;
+    private static final byte SHORT_ANSWER = 3;
+
+    // Bits of trueFalseAccepted: which boolean answers match a correct option
+    private static final byte ACCEPT_TRUE = 1;
+    private static final byte ACCEPT_FALSE = 2;
+
+    private final long[] questionIds;
+    private final int[] marks;
+    private final byte[] types;
+    private final String[] correctText;
+    private final byte[] trueFalseAccepted;
+
+    private final double totalMarks;
+    private final double passingMarks;
+    private final boolean negativeMarking;
+
+    private QuizAnswerKey(int size, Quiz quiz) {
+        this.questionIds = new long[size];
+        this.marks = new int[size];
+        this.types = new byte[size];
+        this.correctText = new String[size];
+        this.trueFalseAccepted = new byte[size];
+        this.totalMarks = quiz.getTotalMarks() != null ? quiz.getTotalMarks() : 0;
+        this.passingMarks = quiz.getPassingMarks() != null ? quiz.getPassingMarks() : 0;
+        this.negativeMarking = Boolean.TRUE.equals(quiz.getNegativeMarking());
+    }
+
+    public static QuizAnswerKey compile(Quiz quiz, List<QuizQuestion> questions, Map<Long, List<QuizOption>> optionsByQuestion) {
+        QuizQuestion[] sorted = questions.toArray(new QuizQuestion[0]);
+        Arrays.sort(sorted, Comparator.comparing(QuizQuestion::getId));
+
+        QuizAnswerKey key = new QuizAnswerKey(sorted.length, quiz);
+        for (int i = 0; i < sorted.length; i++) {
+            QuizQuestion question = sorted[i];
+            key.questionIds[i] = question.getId();
+            key.marks[i] = question.getMarks() != null ? question.getMarks() : 0;
+
+            if ("MCQ".equals(question.getQuestionType())) {
+                key.types[i] = MCQ;
+                key.correctText[i] = question.getCorrectAnswerText() != null ? question.getCorrectAnswerText().trim() : null;
+            } else if ("TRUE_FALSE".equals(question.getQuestionType())) {
+                key.types[i] = TRUE_FALSE;
+                byte accepted = 0;
+                for (QuizOption option : optionsByQuestion.getOrDefault(question.getId(), List.of())) {
+                    if (option.isCorrect()) {
+                        boolean value = "True".equalsIgnoreCase(option.getOptionText()) || "Yes".equalsIgnoreCase(option.getOptionText());
+                        accepted |= value ? ACCEPT_TRUE : ACCEPT_FALSE;
+                    }
+                }
+                key.trueFalseAccepted[i] = accepted;
+            } else if ("SHORT_ANSWER".equals(question.getQuestionType())) {
+                key.types[i] = SHORT_ANSWER;
+                key.correctText[i] = question.getCorrectAnswer() != null ? question.getCorrectAnswer().trim() : null;
+            }
+        }
+        return key;
+    }
+
+    public int getQuestionCount() {
+        return questionIds.length;
+    }
+
+    public double getTotalMarks() {
+        return totalMarks;
+    }
+
+    public double getPassingMarks() {
+        return passingMarks;
+    }
+
+    public boolean isNegativeMarking() {
+        return negativeMarking;
+    }
+
+    /**
+     * Scores answers keyed by question id. With negative marking enabled, each
+     * wrong answer deducts {@code penaltyFraction} of the question's marks; the
+     * final score never drops below zero. Unknown question ids are ignored.
+     */
+    public Result score(Map<String, ?> answers, double penaltyFraction) {
+        double score = 0;
+        int correct = 0;
+        int wrong = 0;
+
+        for (Map.Entry<String, ?> entry : answers.entrySet()) {
+            int index = indexOf(entry.getKey());
+            if (index < 0 || types[index] == 0) {
+                continue;
+            }
+            Object answer = entry.getValue();
+            if (answer == null) {
+                continue;
+            }
+            if (isCorrect(index, answer)) {
+                score += marks[index];
+                correct++;
+            } else {
+                wrong++;
+                if (negativeMarking) {
+                    score -= marks[index] * penaltyFraction;
+                }
+            }
+        }
+
+        if (score < 0 || Double.isNaN(score) || Double.isInfinite(score)) {
+            score = 0;
+        }
+        return new Result(score, correct, wrong);
+    }
+
+    private boolean isCorrect(int index, Object answer) {
+        switch (types[index]) {
+            case MCQ:
+                return answer instanceof String text && matchesTrimmedIgnoreCase(text, correctText[index]);
+            case TRUE_FALSE:
+                byte accepted = trueFalseAccepted[index];
+                if (answer instanceof Boolean value) {
+                    return (accepted & (value ? ACCEPT_TRUE : ACCEPT_FALSE)) != 0;
+                }
+                if (answer instanceof String text) {
+                    return (accepted & (Boolean.parseBoolean(text) ? ACCEPT_TRUE : ACCEPT_FALSE)) != 0;
+                }
+                return false;
+            case SHORT_ANSWER:
+                String text = answer instanceof String s ? s : answer.toString();
+                return matchesTrimmedIgnoreCase(text, correctText[index]);
+            default:
+                return false;
+        }
+    }
+
+    private int indexOf(String questionId) {
+        long id;
+        try {
+            id = Long.parseLong(questionId);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return Arrays.binarySearch(questionIds, id);
+    }
+
+    // Equivalent to answer.trim().equalsIgnoreCase(expected) for an already trimmed expected value, without copying
+    private static boolean matchesTrimmedIgnoreCase(String answer, String expected) {
+        if (expected == null) {
+            return false;
+        }
+        int start = 0;
+        int end = answer.length();
+        while (start < end && answer.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && answer.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start == expected.length() && answer.regionMatches(true, start, expected, 0, expected.length());
+    }
+
+    public static final class Result {
+        private final double score;
+        private final int correctAnswers;
+        private final int wrongAnswers;
+
+        public Result(double score, int correctAnswers, int wrongAnswers) {
+            this.score = score;
+            this.correctAnswers = correctAnswers;
+            this.wrongAnswers = wrongAnswers;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public int getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        public int getWrongAnswers() {
+            return wrongAnswers;
+        }
+    }
+}
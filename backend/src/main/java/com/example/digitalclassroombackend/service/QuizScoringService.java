@@ -0,0 +1,94 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.QuizOption;
+import com.example.digitalclassroombackend.model.QuizQuestion;
+import com.example.digitalclassroombackend.repository.QuizQuestionRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+
+/**
+ * Scores quiz submissions against a compiled {@link QuizAnswerKey}. Keys are
+ * built from one fetch-join query and cached per quiz id until the quiz is
+ * edited ({@link #invalidate(Long)}).
+ */
+@Service
+public class QuizScoringService {
+
+    private final QuizRepository quizRepository;
+    private final QuizQuestionRepository quizQuestionRepository;
+    private final double negativeMarkingPenalty;
+
+    private final Map<Long, QuizAnswerKey> answerKeys = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a key compiled from older data is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public QuizScoringService(QuizRepository quizRepository, QuizQuestionRepository quizQuestionRepository,
+                              @Value("${quiz.negative-marking-penalty:0.25}") double negativeMarkingPenalty) {
+        this.quizRepository = quizRepository;
+        this.quizQuestionRepository = quizQuestionRepository;
+        this.negativeMarkingPenalty = negativeMarkingPenalty;
+    }
+
+    // Compiled key for the quiz, or null if the quiz does not exist
+    @Transactional(readOnly = true)
+    public QuizAnswerKey getAnswerKey(Long quizId) {
+        QuizAnswerKey cached = answerKeys.get(quizId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        QuizAnswerKey key = compile(quizId);
+        if (key != null && generation.get() == startGeneration) {
+            answerKeys.put(quizId, key);
+        }
+        return key;
+    }
+
+    public QuizAnswerKey.Result score(QuizAnswerKey key, Map<String, ?> answers) {
+        return key.score(answers, negativeMarkingPenalty);
+    }
+
+    public void invalidate(Long quizId) {
+        generation.incrementAndGet();
+        answerKeys.remove(quizId);
+    }
+
+    private QuizAnswerKey compile(Long quizId) {
+        // [question, option] rows with the quiz fetched alongside
+        List<Object[]> rows = quizQuestionRepository.findWithOptionsByQuizId(quizId);
+
+        Quiz quiz;
+        if (!rows.isEmpty()) {
+            quiz = ((QuizQuestion) rows.get(0)[0]).getQuiz();
+        } else {
+            quiz = quizRepository.findById(quizId).orElse(null);
+            if (quiz == null) {
+                return null;
+            }
+        }
+
+        Map<Long, QuizQuestion> questions = new LinkedHashMap<>();
+        Map<Long, List<QuizOption>> optionsByQuestion = new HashMap<>();
+        for (Object[] row : rows) {
+            QuizQuestion question = (QuizQuestion) row[0];
+            questions.putIfAbsent(question.getId(), question);
+            if (row[1] != null) {
+                optionsByQuestion.computeIfAbsent(question.getId(), id -> new ArrayList<>()).add((QuizOption) row[1]);
+            }
+        }
+        return QuizAnswerKey.compile(quiz, new ArrayList<>(questions.values()), optionsByQuestion);
+    }
+}
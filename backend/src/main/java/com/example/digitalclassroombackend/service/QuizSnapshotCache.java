@@ -0,0 +1,143 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.QuizOption;
+import com.example.digitalclassroombackend.model.QuizQuestion;
+import com.example.digitalclassroombackend.repository.QuizQuestionRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Caches the student-facing quiz definition (quiz, questions and options) as
+ * pre-serialized JSON per quiz id. A miss costs one fetch-join query; a hit
+ * does not touch the database. Quiz editing endpoints call
+ * {@link #invalidate(Long)}.
+ */
+@Service
+public class QuizSnapshotCache {
+
+    private final QuizRepository quizRepository;
+    private final QuizQuestionRepository quizQuestionRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, byte[]> snapshots = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a snapshot built from older data is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public QuizSnapshotCache(QuizRepository quizRepository, QuizQuestionRepository quizQuestionRepository,
+                             ObjectMapper objectMapper) {
+        this.quizRepository = quizRepository;
+        this.quizQuestionRepository = quizQuestionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // JSON bytes of the quiz details, or null if the quiz does not exist
+    @Transactional(readOnly = true)
+    public byte[] getSnapshot(Long quizId) throws JsonProcessingException {
+        byte[] cached = snapshots.get(quizId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        Map<String, Object> details = load(quizId);
+        if (details == null) {
+            return null;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(details);
+        if (generation.get() == startGeneration) {
+            snapshots.put(quizId, json);
+        }
+        return json;
+    }
+
+    public void invalidate(Long quizId) {
+        generation.incrementAndGet();
+        snapshots.remove(quizId);
+    }
+
+    private Map<String, Object> load(Long quizId) {
+        // [question, option] rows with the quiz fetched alongside, ordered by question then option
+        List<Object[]> rows = quizQuestionRepository.findWithOptionsByQuizId(quizId);
+
+        Quiz quiz;
+        if (!rows.isEmpty()) {
+            quiz = ((QuizQuestion) rows.get(0)[0]).getQuiz();
+        } else {
+            // Quiz without questions (or no quiz at all)
+            quiz = quizRepository.findById(quizId).orElse(null);
+            if (quiz == null) {
+                return null;
+            }
+        }
+
+        // Create a custom response map to avoid circular references
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", quiz.getId());
+        response.put("title", quiz.getTitle());
+        response.put("description", quiz.getDescription());
+        response.put("instructions", quiz.getInstructions());
+        response.put("subject", quiz.getSubject());
+        response.put("classSemester", quiz.getClassSemester());
+        response.put("accessType", quiz.getAccessType());
+        response.put("totalMarks", quiz.getTotalMarks());
+        response.put("passingMarks", quiz.getPassingMarks());
+        response.put("difficulty", quiz.getDifficulty());
+        response.put("timeLimit", quiz.getTimeLimit());
+        response.put("maxAttempts", quiz.getMaxAttempts());
+        response.put("shuffleQuestions", quiz.getShuffleQuestions());
+        response.put("shuffleOptions", quiz.getShuffleOptions());
+        response.put("oneQuestionPerPage", quiz.getOneQuestionPerPage());
+        response.put("autoSubmit", quiz.getAutoSubmit());
+        response.put("negativeMarking", quiz.getNegativeMarking());
+        response.put("startDate", quiz.getStartDate());
+        response.put("endDate", quiz.getEndDate());
+        response.put("lateAccessPolicy", quiz.getLateAccessPolicy());
+        response.put("visibility", quiz.getVisibility());
+        response.put("showResults", quiz.getShowResults());
+        response.put("showCorrectAnswers", quiz.getShowCorrectAnswers());
+        response.put("autoEvaluate", quiz.getAutoEvaluate());
+        response.put("createDate", quiz.getCreateDate());
+
+        // Group the joined rows back into questions with their options
+        Map<Long, Map<String, Object>> questions = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            QuizQuestion question = (QuizQuestion) row[0];
+            Map<String, Object> questionMap = questions.computeIfAbsent(question.getId(), id -> {
+                Map<String, Object> map = new HashMap<>();
+                map.put("id", question.getId());
+                map.put("questionText", question.getQuestionText());
+                map.put("questionType", question.getQuestionType());
+                map.put("marks", question.getMarks());
+                map.put("orderIndex", question.getOrderIndex());
+                map.put("options", new ArrayList<Map<String, Object>>());
+                return map;
+            });
+
+            QuizOption option = (QuizOption) row[1];
+            if (option != null) {
+                Map<String, Object> optionMap = new HashMap<>();
+                optionMap.put("id", option.getId());
+                optionMap.put("optionText", option.getOptionText());
+                optionMap.put("isCorrect", option.isCorrect());
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> options = (List<Map<String, Object>>) questionMap.get("options");
+                options.add(optionMap);
+            }
+        }
+        response.put("questions", new ArrayList<>(questions.values()));
+        return response;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.digitalclassroombackend.dto.QuizSubmissionRecord;
+import com.example.digitalclassroombackend.model.QuizSubmission;
+import com.example.digitalclassroombackend.repository.QuizSubmissionRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persists quiz submissions either directly ({@code quiz.ingestion.mode=direct},
+ * the default) or, in exam-surge mode ({@code journal}), by acknowledging a
+ * durable {@link QuizSubmissionJournal} entry and letting a background writer
+ * drain the journal into {@code quiz_submissions} with JDBC batch inserts.
+ * Entries not yet checkpointed are replayed on startup; replayed entries that
+ * already reached the database are skipped by their ingest id.
+ */
+@Service
+public class QuizSubmissionIngestionService {
+
+    private static final String INSERT_SQL = "INSERT INTO quiz_submissions (quiz_id, submitted_by, answers, score, submit_date, ingest_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final QuizSubmissionRepository quizSubmissionRepository;
+    private final QuizSubmissionJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final boolean journalMode;
+    private final int batchSize;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    public QuizSubmissionIngestionService(QuizSubmissionRepository quizSubmissionRepository, QuizSubmissionJournal journal,
+                                          JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                          @Value("${quiz.ingestion.mode:direct}") String mode,
+                                          @Value("${quiz.ingestion.batch-size:100}") int batchSize) {
+        this.quizSubmissionRepository = quizSubmissionRepository;
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.journalMode = "journal".equalsIgnoreCase(mode);
+        this.batchSize = Math.max(1, batchSize);
+
+        Gauge.builder("quiz.ingestion.queue.depth", this, QuizSubmissionIngestionService::getQueueDepth)
+                .description("Journaled quiz submissions not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("quiz.ingestion.lag", this, QuizSubmissionIngestionService::getLagMillis)
+                .description("Age of the oldest journaled quiz submission not yet written")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.ingestion.written", written, AtomicLong::get)
+                .description("Journaled quiz submissions written to the database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!journalMode) {
+            return;
+        }
+        List<QuizSubmissionRecord> replay = journal.open();
+        for (QuizSubmissionRecord record : replay) {
+            queue.add(new Pending(record, true));
+        }
+        if (!replay.isEmpty()) {
+            System.out.println("Replaying " + replay.size() + " journaled quiz submissions");
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "quiz-submission-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!journalMode) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+    }
+
+    public boolean isJournalMode() {
+        return journalMode;
+    }
+
+    /**
+     * Persists the submission. In journal mode this returns as soon as the
+     * journal entry is on disk; the row is inserted shortly after.
+     */
+    public void ingest(QuizSubmission submission) throws IOException {
+        if (!journalMode) {
+            quizSubmissionRepository.save(submission);
+            return;
+        }
+        QuizSubmissionRecord record = new QuizSubmissionRecord();
+        record.setIngestId(UUID.randomUUID().toString());
+        record.setQuizId(submission.getQuiz() != null ? submission.getQuiz().getId() : null);
+        record.setUserId(submission.getSubmittedBy() != null ? submission.getSubmittedBy().getId() : null);
+        record.setAnswers(submission.getAnswers());
+        record.setScore(submission.getScore());
+        record.setSubmitDate(submission.getSubmitDate());
+        // Queued in seq order, so the last entry of a written batch is a safe checkpoint
+        journal.append(record, () -> queue.add(new Pending(record, false)));
+    }
+
+    public Map<String, Object> getMetrics() {
+        Pending oldest = queue.peek();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("mode", journalMode ? "journal" : "direct");
+        metrics.put("queueDepth", queue.size());
+        metrics.put("lagMillis", oldest != null ? System.currentTimeMillis() - oldest.enqueuedAt : 0L);
+        metrics.put("written", written.get());
+        metrics.put("lastBatchMillis", lastBatchMillis.get());
+        return metrics;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getLagMillis() {
+        Pending oldest = queue.peek();
+        return oldest != null ? System.currentTimeMillis() - oldest.enqueuedAt : 0L;
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Pending first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                writeBatch(batch);
+                journal.checkpoint(batch.get(batch.size() - 1).record.getSeq());
+                written.addAndGet(batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Shutdown requested: loop once more to flush what is queued
+                if (running) {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (Exception e) {
+                // Keep the batch and retry; the journal still holds every entry
+                System.err.println("Quiz submission batch insert failed, retrying: " + e.getMessage());
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        long start = System.currentTimeMillis();
+        List<QuizSubmissionRecord> records = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            records.add(pending.record);
+        }
+
+        // Replayed entries may already have been inserted before the checkpoint was written
+        if (batch.stream().anyMatch(pending -> pending.replayed)) {
+            Set<String> ids = new HashSet<>();
+            records.forEach(record -> ids.add(record.getIngestId()));
+            List<String> existing = namedJdbcTemplate.queryForList(
+                    "SELECT ingest_id FROM quiz_submissions WHERE ingest_id IN (:ids)",
+                    new MapSqlParameterSource("ids", ids), String.class);
+            if (!existing.isEmpty()) {
+                Set<String> present = new HashSet<>(existing);
+                records.removeIf(record -> present.contains(record.getIngestId()));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), QuizSubmissionIngestionService::bind);
+        } catch (DataIntegrityViolationException e) {
+            // One bad row (e.g. a quiz deleted since it was journaled) must not block the queue forever;
+            // retry row by row and skip rows the database rejects (duplicate ingest ids included)
+            for (QuizSubmissionRecord record : records) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, record));
+                } catch (DataIntegrityViolationException rejected) {
+                    System.err.println("Skipping journaled quiz submission " + record.getIngestId() + ": " + rejected.getMessage());
+                }
+            }
+        }
+        lastBatchMillis.set(System.currentTimeMillis() - start);
+    }
+
+    private static void bind(PreparedStatement statement, QuizSubmissionRecord record) throws SQLException {
+        setLong(statement, 1, record.getQuizId());
+        setLong(statement, 2, record.getUserId());
+        statement.setString(3, record.getAnswers());
+        if (record.getScore() != null) {
+            statement.setDouble(4, record.getScore());
+        } else {
+            statement.setNull(4, Types.DOUBLE);
+        }
+        statement.setTimestamp(5, record.getSubmitDate() != null ? Timestamp.valueOf(record.getSubmitDate()) : null);
+        statement.setString(6, record.getIngestId());
+    }
+
+    private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static final class Pending {
+        private final QuizSubmissionRecord record;
+        private final boolean replayed;
+        private final long enqueuedAt = System.currentTimeMillis();
+
+        private Pending(QuizSubmissionRecord record, boolean replayed) {
+            this.record = record;
+            this.replayed = replayed;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.digitalclassroombackend.dto.QuizSubmissionRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Append-only, fsync'd journal of quiz submissions for the exam-surge
+ * ingestion mode. Entries are JSON lines in segment files named after their
+ * first sequence number; a checkpoint file records the last sequence number
+ * that reached the database. Segments that are entirely below the checkpoint
+ * are deleted.
+ *
+ * Appends are group-committed: the first appender to find no fsync in flight
+ * forces the file for every entry written so far, outside the lock, while
+ * later appenders keep writing and wait for the next round. One fsync thus
+ * acknowledges a whole burst of submissions.
+ */
+@Component
+public class QuizSubmissionJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled whenever a group fsync finishes, successfully or not
+    private final Condition synced = lock.newCondition();
+    // first sequence number -> segment file, oldest first
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel active;
+    private long activeSize;
+    private long nextSeq = 1;
+    private long checkpoint;
+    // Entries written but not yet covered by an fsync, in sequence order
+    private final ArrayDeque<Waiter> unsynced = new ArrayDeque<>();
+    private boolean syncing;
+
+    public QuizSubmissionJournal(@Value("${quiz.ingestion.journal-dir:journal/quiz-submissions}") String directory,
+                                 @Value("${quiz.ingestion.segment-bytes:8388608}") long segmentBytes,
+                                 ObjectMapper objectMapper) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens the journal and returns every entry that was not yet checkpointed,
+     * in sequence order. A torn last line from a crash is skipped.
+     */
+    public List<QuizSubmissionRecord> open() throws IOException {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+            if (Files.exists(checkpointPath)) {
+                checkpoint = Long.parseLong(Files.readString(checkpointPath).trim());
+            }
+            nextSeq = checkpoint + 1;
+
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .forEach(path -> segments.put(firstSeqOf(path), path));
+            }
+
+            List<QuizSubmissionRecord> pending = new ArrayList<>();
+            for (Path segment : segments.values()) {
+                try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        QuizSubmissionRecord record;
+                        try {
+                            record = objectMapper.readValue(line, QuizSubmissionRecord.class);
+                        } catch (IOException e) {
+                            System.err.println("Skipping unreadable journal entry in " + segment + ": " + e.getMessage());
+                            continue;
+                        }
+                        nextSeq = Math.max(nextSeq, record.getSeq() + 1);
+                        if (record.getSeq() > checkpoint) {
+                            pending.add(record);
+                        }
+                    }
+                }
+            }
+            roll();
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Assigns the next sequence number and makes the entry durable before returning. onDurable runs
+    // under the journal lock, in sequence order, so whatever it hands the entry to sees entries in order
+    public void append(QuizSubmissionRecord record, Runnable onDurable) throws IOException {
+        lock.lock();
+        try {
+            if (active == null) {
+                throw new IOException("Quiz submission journal is not open");
+            }
+            record.setSeq(nextSeq++);
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            activeSize += line.length;
+
+            Waiter waiter = new Waiter(onDurable);
+            unsynced.add(waiter);
+            // Lead a sync if none is running, otherwise wait for the one in flight and possibly lead the next
+            while (!waiter.done) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                } else {
+                    sync();
+                }
+            }
+            if (waiter.failure != null) {
+                throw new IOException("Quiz submission journal sync failed", waiter.failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Group leader, entered and left holding the lock: one force covers every entry written so far
+    private void sync() {
+        syncing = true;
+        List<Waiter> batch = new ArrayList<>(unsynced);
+        unsynced.clear();
+        FileChannel channel = active;
+        IOException failure = null;
+        lock.unlock();
+        try {
+            if (channel == null) {
+                throw new IOException("Quiz submission journal is not open");
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            lock.lock();
+        }
+        try {
+            for (Waiter waiter : batch) {
+                waiter.done = true;
+                if (failure != null) {
+                    waiter.failure = failure;
+                    continue;
+                }
+                try {
+                    waiter.onDurable.run();
+                } catch (RuntimeException e) {
+                    waiter.failure = e;
+                }
+            }
+            // Entries written during the force are still unsynced in this segment; the next leader rolls
+            if (failure == null && unsynced.isEmpty() && activeSize >= segmentBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not roll quiz submission journal segment: " + e.getMessage());
+        } finally {
+            syncing = false;
+            synced.signalAll();
+        }
+    }
+
+    // Records that every entry up to and including seq is in the database
+    public void checkpoint(long seq) throws IOException {
+        lock.lock();
+        try {
+            if (seq <= checkpoint) {
+                return;
+            }
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temp, Long.toString(seq));
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpoint = seq;
+
+            // A segment is obsolete once the next segment starts at or below checkpoint + 1
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            while (oldest != null) {
+                Long nextFirst = segments.higherKey(oldest.getKey());
+                if (nextFirst == null || nextFirst - 1 > checkpoint) {
+                    break;
+                }
+                Files.deleteIfExists(oldest.getValue());
+                segments.remove(oldest.getKey());
+                oldest = segments.firstEntry();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            while (syncing) {
+                synced.awaitUninterruptibly();
+            }
+            if (active != null) {
+                active.close();
+                active = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+        Path segment = directory.resolve(SEGMENT_PREFIX + String.format("%019d", nextSeq) + SEGMENT_SUFFIX);
+        active = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSize = active.size();
+        segments.put(nextSeq, segment);
+    }
+
+    private static long firstSeqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Waiter {
+        private final Runnable onDurable;
+        private boolean done;
+        private Exception failure;
+
+        private Waiter(Runnable onDurable) {
+            this.onDurable = onDurable;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Remote home for uploaded note files. {@link NoteUploadService} stages uploads
+ * locally and hands them to the store in the background; implementations must
+ * read the file as a stream and may be called again with the same public id
+ * when an earlier attempt failed.
+ */
+public interface RemoteFileStore {
+
+    StoredFile upload(Path file, String publicId, String contentType) throws IOException;
+
+    final class StoredFile {
+        private final String url;
+        private final String remoteId;
+
+        public StoredFile(String url, String remoteId) {
+            this.url = url;
+            this.remoteId = remoteId;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getRemoteId() {
+            return remoteId;
+        }
+    }
+}
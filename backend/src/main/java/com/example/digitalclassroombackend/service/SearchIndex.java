@@ -0,0 +1,672 @@
+package com.example.digitalclassroombackend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.Note;
+import com.example.digitalclassroombackend.model.Quiz;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+
+/**
+ * In-memory inverted index over note, assignment and quiz metadata. Terms are
+ * kept in a sorted dictionary so a query token also matches the terms it is a
+ * prefix of, and tokens of four letters or more also match terms within one
+ * edit (two for long words), so "normalisation" finds "normalization". All
+ * tokens of a query must match; exact matches score highest.
+ *
+ * Each document carries its access rule (class/semester or roster), and
+ * student searches are filtered with the same rules as
+ * {@code getStudentNotes} and {@code getStudentAssignments}, so no rows are
+ * loaded to answer a query. Rebuilt from projection queries at startup and
+ * updated by the controllers as content is created.
+ */
+@Component
+public class SearchIndex {
+
+    public enum Type { NOTE, ASSIGNMENT, QUIZ }
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float SUBJECT_WEIGHT = 2f;
+    private static final float BODY_WEIGHT = 1f;
+
+    // Relative score of a term reached through a prefix or a typo instead of an exact match
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final float FUZZY_FACTOR = 0.4f;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final NoteRepository noteRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final QuizRepository quizRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private volatile boolean built;
+    // One rebuild at a time; while it runs, adds and removes are also recorded here (under the write lock)
+    // and replayed into the fresh segment before the swap
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private List<Consumer<Segment>> changesDuringRebuild;
+    // Per-query working arrays, reused so a query does not allocate three arrays the size of the index
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    public SearchIndex(NoteRepository noteRepository, AssignmentRepository assignmentRepository, QuizRepository quizRepository) {
+        this.noteRepository = noteRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.quizRepository = quizRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Segment fresh = null;
+            try {
+                fresh = load();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (fresh != null) {
+                        // Replaying is safe even for changes the queries already saw: re-adding replaces, removing twice is a no-op
+                        for (Consumer<Segment> change : changesDuringRebuild) {
+                            change.accept(fresh);
+                        }
+                        segment = fresh;
+                        built = true;
+                    }
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            System.out.println("Search index built: " + fresh.liveCount() + " documents, " + fresh.terms.size() + " terms");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Builds the index on first use; concurrent first searches wait for a single rebuild
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            if (!built) {
+                rebuild();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Built off to the side; searches keep using the old segment until the swap
+    private Segment load() {
+        Map<Long, List<Long>> noteRosters = rosters(noteRepository.findSelectedStudentNoteIds());
+        Map<Long, List<Long>> assignmentRosters = rosters(assignmentRepository.findSelectedStudentAssignmentIds());
+        Map<Long, List<Long>> quizRosters = rosters(quizRepository.findSelectedStudentQuizIds());
+
+        Segment fresh = new Segment();
+        for (Object[] row : noteRepository.findSearchRows()) {
+            Long id = (Long) row[0];
+            fresh.put(Type.NOTE, id, (String) row[1], (String) row[4], (String) row[5], noteRosters.get(id),
+                    text((String) row[1], TITLE_WEIGHT), text((String) row[3], SUBJECT_WEIGHT), text((String) row[2], BODY_WEIGHT));
+        }
+        for (Object[] row : assignmentRepository.findSearchRows()) {
+            Long id = (Long) row[0];
+            fresh.put(Type.ASSIGNMENT, id, (String) row[1], (String) row[4], (String) row[5], assignmentRosters.get(id),
+                    text((String) row[1], TITLE_WEIGHT), text((String) row[2], BODY_WEIGHT), text((String) row[3], BODY_WEIGHT));
+        }
+        for (Object[] row : quizRepository.findSearchRows()) {
+            Long id = (Long) row[0];
+            fresh.put(Type.QUIZ, id, (String) row[1], (String) row[3], (String) row[4], quizRosters.get(id),
+                    text((String) row[1], TITLE_WEIGHT), text((String) row[2], BODY_WEIGHT));
+        }
+        return fresh;
+    }
+
+    // Called after a note has been saved; re-adding an id replaces the earlier version
+    public void add(Note note) {
+        if (note.getId() == null) {
+            return;
+        }
+        put(Type.NOTE, note.getId(), note.getTitle(), note.getAccessType(), note.getClassSemester(), rosterOf(note.getAssignedStudents()),
+                text(note.getTitle(), TITLE_WEIGHT), text(note.getSubject(), SUBJECT_WEIGHT), text(note.getDescription(), BODY_WEIGHT));
+    }
+
+    public void add(Assignment assignment) {
+        if (assignment.getId() == null) {
+            return;
+        }
+        put(Type.ASSIGNMENT, assignment.getId(), assignment.getTitle(), assignment.getAccessType(), assignment.getClassSemester(),
+                rosterOf(assignment.getAssignedStudents()), text(assignment.getTitle(), TITLE_WEIGHT),
+                text(assignment.getDescription(), BODY_WEIGHT), text(assignment.getInstructions(), BODY_WEIGHT));
+    }
+
+    public void add(Quiz quiz) {
+        if (quiz.getId() == null) {
+            return;
+        }
+        put(Type.QUIZ, quiz.getId(), quiz.getTitle(), quiz.getAccessType(), quiz.getClassSemester(), rosterOf(quiz.getAssignedStudents()),
+                text(quiz.getTitle(), TITLE_WEIGHT), text(quiz.getDescription(), BODY_WEIGHT));
+    }
+
+    public void remove(Type type, Long id) {
+        apply(current -> current.remove(type, id));
+    }
+
+    // Applies a change to the live segment and, during a rebuild, records it for the fresh one
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first. {@code type} may be null for all types. With a
+     * {@code studentId} only documents that student may see are returned;
+     * without one (teachers and admins) everything is searchable.
+     */
+    public List<Hit> search(String query, Type type, Long studentId, String classSemester, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            List<List<Expansion>> expanded = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                List<Expansion> expansions = current.expand(token);
+                if (expansions.isEmpty()) {
+                    return List.of();
+                }
+                expanded.add(expansions);
+            }
+            // Most selective token first keeps the candidate list short
+            expanded.sort(Comparator.comparingLong(SearchIndex::postingCount));
+
+            Scratch scratch = borrowScratch(current.docs.size());
+            try {
+                return collect(current, expanded, scratch, type, studentId, classSemester, limit);
+            } finally {
+                scratch.release();
+                scratchPool.offer(scratch);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Hit> collect(Segment current, List<List<Expansion>> expanded, Scratch scratch, Type type,
+                                     Long studentId, String classSemester, int limit) {
+        int[] matchedTokens = scratch.matchedTokens;
+        float[] scores = scratch.scores;
+        int[] candidates = scratch.candidates;
+        for (int t = 0; t < expanded.size(); t++) {
+            for (Expansion expansion : expanded.get(t)) {
+                Postings postings = expansion.postings;
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    // Counts once per token, through its best expansion (exact ones come first)
+                    if (matchedTokens[doc] == t) {
+                        matchedTokens[doc] = t + 1;
+                        scores[doc] += postings.weights[i] * expansion.factor;
+                        if (t == 0) {
+                            candidates[scratch.candidateCount++] = doc;
+                        }
+                    }
+                }
+            }
+            if (t > 0) {
+                // Keep the candidates that also matched this token; the rest are cleared straight away
+                int kept = 0;
+                for (int i = 0; i < scratch.candidateCount; i++) {
+                    int doc = candidates[i];
+                    if (matchedTokens[doc] == t + 1) {
+                        candidates[kept++] = doc;
+                    } else {
+                        matchedTokens[doc] = 0;
+                        scores[doc] = 0f;
+                    }
+                }
+                scratch.candidateCount = kept;
+            }
+            if (scratch.candidateCount == 0) {
+                return List.of();
+            }
+        }
+
+        // Min-heap of the best candidates, worst on top; newer documents win ties. Walking the candidates
+        // backwards meets newer documents first, so most ties are rejected before the visibility check.
+        int[] top = new int[Math.min(limit, scratch.candidateCount)];
+        int topSize = 0;
+        for (int i = scratch.candidateCount - 1; i >= 0; i--) {
+            int doc = candidates[i];
+            if (topSize == top.length && !ranksAbove(doc, top[0], scores)) {
+                continue;
+            }
+            Doc candidate = current.docs.get(doc);
+            if (current.deleted.get(doc) || (type != null && candidate.type != type)
+                    || (studentId != null && !candidate.visibleTo(studentId, classSemester))) {
+                continue;
+            }
+            if (topSize < top.length) {
+                top[topSize++] = doc;
+                siftUp(top, topSize - 1, scores);
+            } else {
+                top[0] = doc;
+                siftDown(top, topSize, scores);
+            }
+        }
+
+        Hit[] hits = new Hit[topSize];
+        for (int i = topSize - 1; i >= 0; i--) {
+            int doc = top[0];
+            top[0] = top[i];
+            siftDown(top, i, scores);
+            Doc hit = current.docs.get(doc);
+            hits[i] = new Hit(hit.type, hit.id, hit.title, scores[doc]);
+        }
+        return Arrays.asList(hits);
+    }
+
+    private static boolean ranksAbove(int doc, int other, float[] scores) {
+        return scores[doc] != scores[other] ? scores[doc] > scores[other] : doc > other;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int doc = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], doc, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = doc;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int doc = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksAbove(doc, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = doc;
+    }
+
+    private Scratch borrowScratch(int docCount) {
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        scratch.ensureCapacity(docCount);
+        return scratch;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @SafeVarargs
+    private void put(Type type, Long id, String title, String accessType, String classSemester, List<Long> roster,
+                     Map<String, Float>... fields) {
+        apply(current -> current.put(type, id, title, accessType, classSemester, roster, fields));
+    }
+
+    private static long postingCount(List<Expansion> expansions) {
+        long count = 0;
+        for (Expansion expansion : expansions) {
+            count += expansion.postings.size;
+        }
+        return count;
+    }
+
+    // Term -> weight for one field
+    private static Map<String, Float> text(String value, float weight) {
+        Map<String, Float> terms = new HashMap<>();
+        for (String token : tokenize(value)) {
+            terms.merge(token, weight, Float::sum);
+        }
+        return terms;
+    }
+
+    private static List<String> queryTokens(String query) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        return tokens.size() > MAX_QUERY_TOKENS ? tokens.subList(0, MAX_QUERY_TOKENS) : tokens;
+    }
+
+    // Lower-cased, accent-folded runs of letters and digits
+    static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static List<Long> rosterOf(Set<User> students) {
+        if (students == null || students.isEmpty()) {
+            return null;
+        }
+        List<Long> roster = new ArrayList<>(students.size());
+        for (User student : students) {
+            if (student.getId() != null) {
+                roster.add(student.getId());
+            }
+        }
+        return roster;
+    }
+
+    private static Map<Long, List<Long>> rosters(List<Object[]> rows) {
+        Map<Long, List<Long>> rosters = new HashMap<>();
+        for (Object[] row : rows) {
+            rosters.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((Long) row[1]);
+        }
+        return rosters;
+    }
+
+    // Optimal string alignment distance, giving up once it exceeds max
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /** One search result. */
+    public static final class Hit {
+        private final Type type;
+        private final Long id;
+        private final String title;
+        private final float score;
+
+        private Hit(Type type, Long id, String title, float score) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.score = score;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    private static final class Doc {
+        private final Type type;
+        private final Long id;
+        private final String title;
+        private final String accessType;
+        private final String classSemester;
+        private final long[] roster; // sorted student ids for SELECTED_STUDENTS
+
+        private Doc(Type type, Long id, String title, String accessType, String classSemester, long[] roster) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.accessType = accessType;
+            this.classSemester = classSemester;
+            this.roster = roster;
+        }
+
+        // Same rules as getStudentNotes / getStudentAssignments
+        private boolean visibleTo(Long studentId, String studentClassSemester) {
+            if ("ALL_CLASS".equals(accessType)) {
+                return studentClassSemester != null && studentClassSemester.equals(classSemester);
+            }
+            if ("SELECTED_STUDENTS".equals(accessType)) {
+                return roster != null && Arrays.binarySearch(roster, studentId) >= 0;
+            }
+            return false;
+        }
+    }
+
+    // Doc ordinals in ascending order with the summed field weight of the term in each
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * Per-document token counts and scores for one query. Only the
+     * candidates' entries are ever non-zero, so {@link #release()} clears
+     * those instead of the whole array.
+     */
+    private static final class Scratch {
+        private int[] matchedTokens = new int[0];
+        private float[] scores = new float[0];
+        private int[] candidates = new int[0];
+        private int candidateCount;
+
+        private void ensureCapacity(int docCount) {
+            if (matchedTokens.length < docCount) {
+                int capacity = Math.max(docCount, matchedTokens.length + (matchedTokens.length >> 1));
+                matchedTokens = new int[capacity];
+                scores = new float[capacity];
+                candidates = new int[capacity];
+            }
+        }
+
+        private void release() {
+            for (int i = 0; i < candidateCount; i++) {
+                matchedTokens[candidates[i]] = 0;
+                scores[candidates[i]] = 0f;
+            }
+            candidateCount = 0;
+        }
+    }
+
+    private static final class Expansion {
+        private final Postings postings;
+        private final float factor;
+
+        private Expansion(Postings postings, float factor) {
+            this.postings = postings;
+            this.factor = factor;
+        }
+    }
+
+    /**
+     * Documents are appended with increasing ordinals, which keeps postings
+     * sorted without re-sorting. Replaced or removed documents are only
+     * marked deleted; the next rebuild drops them.
+     */
+    private static final class Segment {
+        private final List<Doc> docs = new ArrayList<>();
+        private final BitSet deleted = new BitSet();
+        private final Map<Type, Map<Long, Integer>> ordinals = new EnumMap<>(Type.class);
+        private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+        private Segment() {
+            for (Type type : Type.values()) {
+                ordinals.put(type, new HashMap<>());
+            }
+        }
+
+        @SafeVarargs
+        private void put(Type type, Long id, String title, String accessType, String classSemester, List<Long> roster,
+                         Map<String, Float>... fields) {
+            remove(type, id);
+            long[] sortedRoster = null;
+            if (roster != null) {
+                sortedRoster = roster.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            int ordinal = docs.size();
+            docs.add(new Doc(type, id, title, accessType, classSemester, sortedRoster));
+            ordinals.get(type).put(id, ordinal);
+
+            Map<String, Float> weights = new HashMap<>();
+            for (Map<String, Float> field : fields) {
+                field.forEach((term, weight) -> weights.merge(term, weight, Float::sum));
+            }
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, key -> new Postings()).add(ordinal, weight));
+        }
+
+        private void remove(Type type, Long id) {
+            Integer previous = ordinals.get(type).remove(id);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+        }
+
+        private int liveCount() {
+            return docs.size() - deleted.cardinality();
+        }
+
+        // Exact term first, then terms the token is a prefix of, then close misspellings
+        private List<Expansion> expand(String token) {
+            List<Expansion> expansions = new ArrayList<>();
+            Postings exact = terms.get(token);
+            if (exact != null) {
+                expansions.add(new Expansion(exact, 1f));
+            }
+            if (token.length() >= 2) {
+                for (Map.Entry<String, Postings> entry : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                    if (expansions.size() >= MAX_EXPANSIONS) {
+                        break;
+                    }
+                    expansions.add(new Expansion(entry.getValue(), PREFIX_FACTOR * token.length() / entry.getKey().length()));
+                }
+            }
+            if (token.length() >= 4) {
+                int maxEdits = token.length() >= 8 ? 2 : 1;
+                // Typos in the first letter are not looked for; that keeps the scan to one slice of the dictionary
+                String first = token.substring(0, 1);
+                int fuzzy = 0;
+                for (Map.Entry<String, Postings> entry : terms.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                    String term = entry.getKey();
+                    if (term.startsWith(token) || Math.abs(term.length() - token.length()) > maxEdits) {
+                        continue;
+                    }
+                    int distance = editDistance(token, term, maxEdits);
+                    if (distance <= maxEdits) {
+                        expansions.add(new Expansion(entry.getValue(), FUZZY_FACTOR / distance));
+                        if (++fuzzy >= MAX_EXPANSIONS) {
+                            break;
+                        }
+                    }
+                }
+            }
+            return expansions;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.dto.GradeSummary;
+import com.example.digitalclassroombackend.dto.RubricScoreSummary;
+import com.example.digitalclassroombackend.model.Grades;
+import com.example.digitalclassroombackend.repository.GradesRepository;
+import com.example.digitalclassroombackend.repository.RubricScoreRepository;
+
+/**
+ * Builds the student "My Grades" view from two projection queries: one for
+ * the published grades with their submission/assignment summary and one for
+ * all rubric scores of those submissions. No entities are loaded, so lazy
+ * and eager associations cannot add further round trips.
+ */
+@Service
+public class StudentGradesService {
+
+    private final GradesRepository gradesRepository;
+    private final RubricScoreRepository rubricScoreRepository;
+
+    public StudentGradesService(GradesRepository gradesRepository, RubricScoreRepository rubricScoreRepository) {
+        this.gradesRepository = gradesRepository;
+        this.rubricScoreRepository = rubricScoreRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getPublishedGrades(Long studentId) {
+        List<GradeSummary> grades = gradesRepository.findSummariesByStudentAndStatus(studentId, Grades.GradeStatus.PUBLISHED);
+        if (grades.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Fetch rubric scores for every submission at once and group them by submission
+        List<Long> submissionIds = grades.stream().map(GradeSummary::getSubmissionId).toList();
+        Map<Long, List<Map<String, Object>>> scoresBySubmission = new HashMap<>();
+        for (RubricScoreSummary score : rubricScoreRepository.findSummariesBySubmissionIds(submissionIds)) {
+            Map<String, Object> scoreMap = new HashMap<>();
+            scoreMap.put("id", score.getId());
+            scoreMap.put("score", score.getScore());
+            scoreMap.put("comments", score.getComments());
+
+            Map<String, Object> criteriaMap = new HashMap<>();
+            criteriaMap.put("id", score.getCriteriaId());
+            criteriaMap.put("criteriaName", score.getCriteriaName());
+            criteriaMap.put("maxPoints", score.getMaxPoints());
+            scoreMap.put("criteria", criteriaMap);
+
+            scoresBySubmission.computeIfAbsent(score.getSubmissionId(), id -> new ArrayList<>()).add(scoreMap);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(grades.size());
+        for (GradeSummary grade : grades) {
+            Map<String, Object> gradeMap = new HashMap<>();
+            gradeMap.put("id", grade.getId());
+            gradeMap.put("marks", grade.getMarks());
+            gradeMap.put("feedback", grade.getFeedback());
+            gradeMap.put("gradedAt", grade.getGradedAt());
+
+            Map<String, Object> submissionMap = new HashMap<>();
+            submissionMap.put("id", grade.getSubmissionId());
+            submissionMap.put("submitDate", grade.getSubmitDate());
+            submissionMap.put("fileName", grade.getFileName());
+
+            Map<String, Object> assignmentMap = new HashMap<>();
+            assignmentMap.put("id", grade.getAssignmentId());
+            assignmentMap.put("title", grade.getAssignmentTitle());
+            assignmentMap.put("totalMarks", grade.getAssignmentTotalMarks());
+            submissionMap.put("assignment", assignmentMap);
+
+            submissionMap.put("rubricScores", scoresBySubmission.getOrDefault(grade.getSubmissionId(), new ArrayList<>()));
+            gradeMap.put("submission", submissionMap);
+            result.add(gradeMap);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.digitalclassroombackend.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.model.Grades;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.GradesRepository;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+
+/**
+ * Computes the student dashboard counters with aggregate queries so that no
+ * assignment, quiz or submission rows are loaded into memory.
+ */
+@Service
+public class StudentStatsService {
+
+    private final NoteRepository noteRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final QuizRepository quizRepository;
+    private final GradesRepository gradesRepository;
+
+    public StudentStatsService(NoteRepository noteRepository, AssignmentRepository assignmentRepository,
+                               QuizRepository quizRepository, GradesRepository gradesRepository) {
+        this.noteRepository = noteRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.quizRepository = quizRepository;
+        this.gradesRepository = gradesRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Long> getStats(Long studentId) {
+        Map<String, Long> stats = new HashMap<>();
+
+        // Notes Available: total notes uploaded by teachers
+        stats.put("notesAvailable", noteRepository.count());
+
+        if (studentId == null) {
+            stats.put("assignmentsPending", 0L);
+            stats.put("quizzesAvailable", 0L);
+            stats.put("gradesPublished", 0L);
+            return stats;
+        }
+
+        // Assignments Pending: not past due and no submission from this student (NOT EXISTS anti-join)
+        stats.put("assignmentsPending", assignmentRepository.countPendingForStudent(studentId, LocalDateTime.now()));
+
+        // Quizzes Available: quizzes without a submission from this student
+        stats.put("quizzesAvailable", quizRepository.countNotTakenByStudent(studentId));
+
+        // Grades Published: published grades on this student's submissions
+        stats.put("gradesPublished",
+                gradesRepository.countBySubmissionSubmittedByIdAndStatus(studentId, Grades.GradeStatus.PUBLISHED));
+
+        return stats;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.example.digitalclassroombackend.repository.SubmissionRepository;
+
+/**
+ * Writes every submission file of an assignment into a ZIP laid out as
+ * {@code <username>/<file name>}. Files are copied from disk into the zip
+ * stream one buffer at a time, so memory use does not depend on file or
+ * archive size. Files that would not shrink (known compressed formats, or a sample of
+ * the file deflates poorly) are stored uncompressed.
+ */
+@Service
+public class SubmissionExportService {
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "pdf", "zip", "gz", "7z", "rar", "jpg", "jpeg", "png", "gif", "webp",
+            "mp3", "mp4", "mov", "docx", "xlsx", "pptx", "odt", "ods", "odp");
+
+    // Leading bytes deflated to judge whether a file of unknown type compresses
+    private static final int SAMPLE_BYTES = 16 * 1024;
+
+    private final SubmissionRepository submissionRepository;
+
+    public SubmissionExportService(SubmissionRepository submissionRepository) {
+        this.submissionRepository = submissionRepository;
+    }
+
+    /**
+     * Loads the [username, fileName, filePath, submitDate] rows to export.
+     * Called before streaming starts so no connection is held while the
+     * archive is written.
+     */
+    public List<Object[]> loadRows(Long assignmentId) {
+        return submissionRepository.findExportRowsByAssignmentId(assignmentId);
+    }
+
+    /**
+     * Streams the archive for rows from {@link #loadRows} to {@code out} and
+     * returns the number of files written. Submissions whose file is missing
+     * on disk are listed in {@code _missing.txt} inside the archive.
+     */
+    public int writeZip(List<Object[]> rows, OutputStream out) throws IOException {
+        int written = 0;
+        List<String> missing = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        Deflater sampler = new Deflater(Deflater.BEST_SPEED);
+        byte[] sample = new byte[SAMPLE_BYTES];
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        try {
+            for (Object[] row : rows) {
+                String username = row[0] != null ? (String) row[0] : "unknown";
+                String fileName = row[1] != null ? (String) row[1] : "submission";
+                String filePath = (String) row[2];
+
+                Path path = filePath != null ? Paths.get(filePath) : null;
+                if (path == null || !Files.isRegularFile(path)) {
+                    missing.add(username + ": " + fileName);
+                    continue;
+                }
+
+                String entryName = uniqueName(usedNames, safeName(username) + "/" + safeName(fileName));
+                ZipEntry entry = new ZipEntry(entryName);
+                if (row[3] instanceof LocalDateTime submitDate) {
+                    entry.setTime(submitDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                }
+                zip.setLevel(worthCompressing(path, fileName, sampler, sample) ? Deflater.BEST_SPEED : Deflater.NO_COMPRESSION);
+                zip.putNextEntry(entry);
+                Files.copy(path, zip);
+                zip.closeEntry();
+                written++;
+            }
+
+            if (!missing.isEmpty()) {
+                zip.setLevel(Deflater.BEST_SPEED);
+                zip.putNextEntry(new ZipEntry("_missing.txt"));
+                zip.write((String.join("\n", missing) + "\n").getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            sampler.end();
+        }
+        return written;
+    }
+
+    /**
+     * Known compressed formats are stored. Anything else is decided by
+     * deflating its first block: unless that saves at least 10% the file is
+     * stored too, since deflate costs several times more CPU than the copy.
+     */
+    private static boolean worthCompressing(Path path, String fileName, Deflater sampler, byte[] sample) throws IOException {
+        int dot = fileName.lastIndexOf('.');
+        if (dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        int length;
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(sample, 0, sample.length);
+        }
+        if (length < 512) {
+            return true;
+        }
+        sampler.reset();
+        sampler.setInput(sample, 0, length);
+        sampler.finish();
+        byte[] scratch = new byte[4096];
+        long compressed = 0;
+        while (!sampler.finished()) {
+            compressed += sampler.deflate(scratch);
+        }
+        return compressed < length * 0.9;
+    }
+
+    // Keeps entry names inside their folder: no separators, no "..", no control characters
+    private static String safeName(String name) {
+        String cleaned = name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (cleaned.isEmpty() || cleaned.equals(".") || cleaned.equals("..")) {
+            return "_";
+        }
+        return cleaned;
+    }
+
+    private static String uniqueName(Set<String> usedNames, String name) {
+        if (usedNames.add(name)) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        int slash = name.lastIndexOf('/');
+        String base = dot > slash ? name.substring(0, dot) : name;
+        String extension = dot > slash ? name.substring(dot) : "";
+        for (int i = 2; ; i++) {
+            String candidate = base + " (" + i + ")" + extension;
+            if (usedNames.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
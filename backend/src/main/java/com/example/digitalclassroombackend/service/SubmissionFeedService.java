@@ -0,0 +1,105 @@
+package com.example.digitalclassroombackend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.dto.SubmissionFeedItem;
+import com.example.digitalclassroombackend.model.Grades;
+import com.example.digitalclassroombackend.repository.SubmissionRepository;
+
+/**
+ * Keyset-paginated submissions feed for teachers. Each page is one query;
+ * the {@code next} cursor is the id of the last row returned and is
+ * {@code null} on the last page.
+ */
+@Service
+public class SubmissionFeedService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final SubmissionRepository submissionRepository;
+
+    public SubmissionFeedService(SubmissionRepository submissionRepository) {
+        this.submissionRepository = submissionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPage(Long cursor, Long assignmentId, Long teacherId,
+                                       Grades.GradeStatus gradeStatus, Boolean late, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Ask for one extra row to know whether another page exists
+        List<SubmissionFeedItem> rows = submissionRepository.findFeed(cursor, assignmentId, teacherId,
+                gradeStatus, late, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("items", toMaps(rows));
+        page.put("next", hasMore ? rows.get(rows.size() - 1).getId() : null);
+        return page;
+    }
+
+    // Every submission, same single query without a page limit, oldest first as the legacy list always was
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAll() {
+        List<SubmissionFeedItem> rows = submissionRepository.findFeed(null, null, null, null, null, Pageable.unpaged());
+        Collections.reverse(rows);
+        return toMaps(rows);
+    }
+
+    private List<Map<String, Object>> toMaps(List<SubmissionFeedItem> rows) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (SubmissionFeedItem row : rows) {
+            result.add(toMap(row));
+        }
+        return result;
+    }
+
+    public static Map<String, Object> toMap(SubmissionFeedItem row) {
+        Map<String, Object> submissionMap = new HashMap<>();
+
+        // Basic submission info
+        submissionMap.put("id", row.getId());
+        submissionMap.put("filePath", row.getFilePath());
+        submissionMap.put("fileName", row.getFileName());
+        submissionMap.put("fileType", row.getFileType());
+        submissionMap.put("submitDate", row.getSubmitDate());
+
+        // Grade columns are null when the submission has not been graded yet
+        submissionMap.put("grade", row.getMarks());
+        submissionMap.put("feedback", row.getFeedback());
+        submissionMap.put("gradeStatus", row.getGradeStatus() != null ? row.getGradeStatus().toString() : "PENDING");
+        submissionMap.put("gradedAt", row.getGradedAt());
+        submissionMap.put("publishedAt", row.getPublishedAt());
+
+        // Assignment details
+        Map<String, Object> assignmentMap = new HashMap<>();
+        assignmentMap.put("id", row.getAssignmentId());
+        assignmentMap.put("title", row.getAssignmentTitle());
+        assignmentMap.put("totalMarks", row.getAssignmentTotalMarks());
+        assignmentMap.put("dueDate", row.getDueDate());
+        submissionMap.put("assignment", assignmentMap);
+
+        // Student details
+        Map<String, Object> studentMap = new HashMap<>();
+        studentMap.put("id", row.getStudentId());
+        studentMap.put("username", row.getStudentUsername());
+        studentMap.put("email", row.getStudentEmail());
+        submissionMap.put("submittedBy", studentMap);
+
+        submissionMap.put("isLateSubmission", row.isLate());
+        return submissionMap;
+    }
+}
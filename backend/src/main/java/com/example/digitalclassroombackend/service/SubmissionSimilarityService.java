@@ -0,0 +1,317 @@
+package com.example.digitalclassroombackend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Near-duplicate screening of submissions. A worker extracts the text of each
+ * new submission's file and stores its {@link MinHash} signature; submissions
+ * without one at startup are queued again. A report for an assignment buckets
+ * the stored signatures by LSH band and only compares pairs that share a
+ * bucket, plus pairs of byte-identical files (same blob). Text is read from
+ * plain-text and source files and from the XML inside DOCX, PPTX, XLSX and
+ * OpenDocument files; other formats are only caught when identical.
+ */
+@Service
+public class SubmissionSimilarityService {
+
+    public static final double DEFAULT_THRESHOLD = 0.5;
+
+    private static final Set<String> TEXT_EXTENSIONS = Set.of(
+            "txt", "md", "csv", "tsv", "rtf", "tex", "html", "htm", "xml", "json", "yaml", "yml", "sql", "ipynb",
+            "java", "py", "c", "h", "cpp", "hpp", "cc", "cs", "js", "jsx", "ts", "tsx", "css", "go", "rs", "kt",
+            "rb", "php", "sh", "r", "m", "scala", "swift");
+    private static final Pattern XML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern SLIDE_ENTRY = Pattern.compile("ppt/slides/slide(\\d+)\\.xml");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxTextBytes;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Counter> computed = new HashMap<>();
+    private final Timer signatureTimer;
+
+    public SubmissionSimilarityService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                       @Value("${similarity.threads:1}") int threads,
+                                       @Value("${similarity.max-text-size:4MB}") DataSize maxTextSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxTextBytes = (int) Math.min(Integer.MAX_VALUE - 8, maxTextSize.toBytes());
+
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "submission-similarity-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        for (String status : List.of("READY", "UNSUPPORTED", "EMPTY", "MISSING")) {
+            computed.put(status, Counter.builder("similarity.signatures").tag("status", status)
+                    .description("Submission signatures computed, by outcome")
+                    .register(meterRegistry));
+        }
+        this.signatureTimer = Timer.builder("similarity.signature")
+                .description("Time to extract a submission's text and compute its signature")
+                .register(meterRegistry);
+        Gauge.builder("similarity.signature.pending", executor, e -> e.getQueue().size())
+                .description("Submissions waiting for a signature")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        List<Long> pending = jdbcTemplate.queryForList("SELECT s.id FROM submissions s "
+                + "LEFT JOIN submission_signatures g ON g.submission_id = s.id WHERE g.submission_id IS NULL ORDER BY s.id",
+                Long.class);
+        for (Long submissionId : pending) {
+            submit(submissionId);
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("Computing similarity signatures for " + pending.size() + " submissions");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Submissions without a signature are queued again on the next start
+        executor.shutdownNow();
+    }
+
+    // The submission must already be saved
+    public void submit(Long submissionId) {
+        executor.execute(() -> {
+            try {
+                compute(submissionId);
+            } catch (Exception e) {
+                System.err.println("Similarity signature for submission " + submissionId + " failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Pairs of submissions to the assignment whose estimated similarity is at
+     * least {@code threshold}, most similar first, with counts of submissions
+     * analysed, still pending and not comparable as text.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> report(Long assignmentId, double threshold) {
+        List<Row> rows = jdbcTemplate.query("SELECT s.id, u.username, s.blob_hash, g.status, g.signature FROM submissions s "
+                + "LEFT JOIN users u ON u.id = s.submitted_by LEFT JOIN submission_signatures g ON g.submission_id = s.id "
+                + "WHERE s.assignment_id = ? ORDER BY s.id",
+                (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        MinHash.decode(rs.getBytes(5))),
+                assignmentId);
+
+        int analyzed = 0;
+        int pending = 0;
+        List<int[]> signatures = new ArrayList<>(rows.size());
+        Map<String, List<Integer>> byBlob = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            if (row.status == null) {
+                pending++;
+            } else if (row.signature != null) {
+                analyzed++;
+            }
+            signatures.add(row.signature);
+            if (row.blobHash != null) {
+                byBlob.computeIfAbsent(row.blobHash, key -> new ArrayList<>(2)).add(i);
+            }
+        }
+
+        List<Map<String, Object>> pairs = new ArrayList<>();
+        Set<Long> identical = new HashSet<>();
+        for (List<Integer> group : byBlob.values()) {
+            for (int x = 0; x < group.size(); x++) {
+                for (int y = x + 1; y < group.size(); y++) {
+                    identical.add((long) group.get(x) << 32 | group.get(y));
+                    pairs.add(pair(rows.get(group.get(x)), rows.get(group.get(y)), 1.0, true));
+                }
+            }
+        }
+        for (long candidate : MinHash.candidatePairs(signatures)) {
+            if (identical.contains(candidate)) {
+                continue;
+            }
+            Row a = rows.get((int) (candidate >>> 32));
+            Row b = rows.get((int) candidate);
+            double similarity = MinHash.similarity(a.signature, b.signature);
+            if (similarity >= threshold) {
+                pairs.add(pair(a, b, similarity, false));
+            }
+        }
+        pairs.sort(Comparator.comparingDouble((Map<String, Object> pair) -> (Double) pair.get("similarity")).reversed());
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("assignmentId", assignmentId);
+        report.put("threshold", threshold);
+        report.put("submissions", rows.size());
+        report.put("analyzed", analyzed);
+        report.put("pending", pending);
+        report.put("notComparable", rows.size() - analyzed - pending);
+        report.put("pairs", pairs);
+        return report;
+    }
+
+    private void compute(Long submissionId) throws IOException {
+        List<Map<String, Object>> found = jdbcTemplate.queryForList(
+                "SELECT file_path, file_name, file_type FROM submissions WHERE id = ?", submissionId);
+        if (found.isEmpty()) {
+            return; // deleted meanwhile
+        }
+        Map<String, Object> submission = found.get(0);
+        String filePath = (String) submission.get("file_path");
+
+        long startedAt = System.nanoTime();
+        String status;
+        int[] signature = null;
+        int shingles = 0;
+        Path path = filePath != null ? Paths.get(filePath) : null;
+        if (path == null || !Files.isRegularFile(path)) {
+            status = "MISSING";
+        } else {
+            String text = extractText(path, (String) submission.get("file_name"), (String) submission.get("file_type"));
+            if (text == null) {
+                status = "UNSUPPORTED";
+            } else {
+                List<String> words = SearchIndex.tokenize(text);
+                signature = MinHash.signature(words);
+                shingles = MinHash.shingleCount(words.size());
+                status = signature != null ? "READY" : "EMPTY";
+            }
+        }
+        signatureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        try {
+            jdbcTemplate.update("INSERT INTO submission_signatures (submission_id, status, shingle_count, signature, computed_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", submissionId, status, shingles,
+                    signature != null ? MinHash.encode(signature) : null, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            return; // queued twice (at startup and on submit); the first one won
+        }
+        computed.get(status).increment();
+    }
+
+    // Plain text of the file, or null when its format is not read
+    private String extractText(Path path, String fileName, String contentType) throws IOException {
+        String extension = "";
+        if (fileName != null && fileName.lastIndexOf('.') >= 0) {
+            extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        }
+        switch (extension) {
+            case "docx":
+                return zipText(path, name -> name.equals("word/document.xml") ? 0 : -1);
+            case "pptx":
+                return zipText(path, name -> {
+                    Matcher slide = SLIDE_ENTRY.matcher(name);
+                    return slide.matches() ? Integer.parseInt(slide.group(1)) : -1;
+                });
+            case "xlsx":
+                return zipText(path, name -> name.equals("xl/sharedStrings.xml") ? 0 : -1);
+            case "odt":
+            case "odp":
+            case "ods":
+                return zipText(path, name -> name.equals("content.xml") ? 0 : -1);
+            default:
+                if (TEXT_EXTENSIONS.contains(extension) || (contentType != null && contentType.startsWith("text/"))) {
+                    try (InputStream in = Files.newInputStream(path)) {
+                        return new String(in.readNBytes(maxTextBytes), StandardCharsets.UTF_8);
+                    }
+                }
+                return null;
+        }
+    }
+
+    // Text content of the XML entries the selector orders (>= 0), in that order, tags dropped
+    private String zipText(Path path, ToIntFunction<String> selector) throws IOException {
+        Map<Integer, ZipEntry> parts = new TreeMap<>();
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            zip.stream().forEach(entry -> {
+                int order = selector.applyAsInt(entry.getName());
+                if (order >= 0) {
+                    parts.put(order, entry);
+                }
+            });
+            ByteArrayOutputStream xml = new ByteArrayOutputStream();
+            for (ZipEntry entry : parts.values()) {
+                try (InputStream in = zip.getInputStream(entry)) {
+                    xml.write(in.readNBytes(maxTextBytes - xml.size()));
+                }
+                if (xml.size() >= maxTextBytes) {
+                    break;
+                }
+            }
+            return XML_TAG.matcher(xml.toString(StandardCharsets.UTF_8)).replaceAll(" ");
+        } catch (ZipException e) {
+            return null; // named like an office file but not one
+        }
+    }
+
+    private static Map<String, Object> pair(Row a, Row b, double similarity, boolean identicalFile) {
+        Map<String, Object> pair = new HashMap<>();
+        pair.put("submissionId", a.submissionId);
+        pair.put("username", a.username);
+        pair.put("otherSubmissionId", b.submissionId);
+        pair.put("otherUsername", b.username);
+        pair.put("similarity", Math.round(similarity * 100) / 100.0);
+        pair.put("identicalFile", identicalFile);
+        return pair;
+    }
+
+    private static final class Row {
+        private final long submissionId;
+        private final String username;
+        private final String blobHash;
+        private final String status;
+        private final int[] signature;
+
+        private Row(long submissionId, String username, String blobHash, String status, int[] signature) {
+            this.submissionId = submissionId;
+            this.username = username;
+            this.blobHash = blobHash;
+            this.status = status;
+            this.signature = signature;
+        }
+    }
+}
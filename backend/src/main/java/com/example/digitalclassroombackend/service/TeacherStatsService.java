@@ -0,0 +1,101 @@
+package com.example.digitalclassroombackend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.digitalclassroombackend.model.TeacherStats;
+import com.example.digitalclassroombackend.model.TeacherStatsListener;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.NoteRepository;
+import com.example.digitalclassroombackend.repository.QuizRepository;
+import com.example.digitalclassroombackend.repository.SubmissionRepository;
+import com.example.digitalclassroombackend.repository.TeacherStatsRepository;
+
+/**
+ * Reads and reconciles the per-teacher counters in {@code teacher_stats}.
+ * Day-to-day maintenance happens in {@code TeacherStatsListener}; this service
+ * recounts every row in place on startup, on a schedule and on demand, which
+ * repairs any drift (manual SQL, failed listeners, old data).
+ */
+@Service
+public class TeacherStatsService {
+
+    private final TeacherStatsRepository teacherStatsRepository;
+    private final NoteRepository noteRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final QuizRepository quizRepository;
+    private final SubmissionRepository submissionRepository;
+    private final TeacherStatsListener teacherStatsListener;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeacherStatsService(TeacherStatsRepository teacherStatsRepository, NoteRepository noteRepository,
+                               AssignmentRepository assignmentRepository, QuizRepository quizRepository,
+                               SubmissionRepository submissionRepository, TeacherStatsListener teacherStatsListener,
+                               JdbcTemplate jdbcTemplate) {
+        this.teacherStatsRepository = teacherStatsRepository;
+        this.noteRepository = noteRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.quizRepository = quizRepository;
+        this.submissionRepository = submissionRepository;
+        this.teacherStatsListener = teacherStatsListener;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Long> getStats(Long teacherId) {
+        TeacherStats row = teacherId != null ? teacherStatsRepository.findById(teacherId).orElse(null) : null;
+
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("notesCount", row != null ? row.getNotesCount() : 0L);
+        stats.put("assignmentsCount", row != null ? row.getAssignmentsCount() : 0L);
+        stats.put("quizzesCount", row != null ? row.getQuizzesCount() : 0L);
+        stats.put("submissionsCount", row != null ? row.getSubmissionsCount() : 0L);
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${teacher-stats.reconcile-cron:0 0 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        Set<Long> teacherIds = new HashSet<>();
+        collect(teacherIds, noteRepository.countGroupedByUploader());
+        collect(teacherIds, assignmentRepository.countGroupedByCreator());
+        collect(teacherIds, quizRepository.countGroupedByCreator());
+        collect(teacherIds, submissionRepository.countGroupedByAssignmentCreator());
+        for (TeacherStats existing : teacherStatsRepository.findAllById(teacherIds)) {
+            teacherIds.remove(existing.getTeacherId());
+        }
+        for (Long teacherId : teacherIds) {
+            teacherStatsListener.ensureRow(teacherId);
+        }
+
+        // Corrected in place: each row is recounted and written under its row lock by one statement, so a
+        // listener increment committing meanwhile is either counted or applied on top, never overwritten
+        int rows = jdbcTemplate.update("UPDATE teacher_stats SET "
+                + "notes_count = (SELECT COUNT(*) FROM notes n WHERE n.uploaded_by = teacher_stats.teacher_id), "
+                + "assignments_count = (SELECT COUNT(*) FROM assignments a WHERE a.created_by = teacher_stats.teacher_id), "
+                + "quizzes_count = (SELECT COUNT(*) FROM quizzes q WHERE q.created_by = teacher_stats.teacher_id), "
+                + "submissions_count = (SELECT COUNT(*) FROM submissions s JOIN assignments a ON a.id = s.assignment_id "
+                + "WHERE a.created_by = teacher_stats.teacher_id), "
+                + "rebuilt_at = ?", Timestamp.valueOf(LocalDateTime.now()));
+        System.out.println("Rebuilt teacher stats for " + rows + " teachers");
+    }
+
+    private static void collect(Set<Long> teacherIds, List<Object[]> counts) {
+        for (Object[] count : counts) {
+            teacherIds.add((Long) count[0]);
+        }
+    }
+}
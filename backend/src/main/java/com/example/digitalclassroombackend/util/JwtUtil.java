@@ -1,29 +1,63 @@
 package com.example.digitalclassroombackend.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import javax.crypto.spec.SecretKeySpec;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.example.digitalclassroombackend.model.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     private String secret = "mySecretKeyForJwtTokenGeneration";
 
     private long expiration = 86400000;
 
-    private Key getSigningKey() {
-        return new SecretKeySpec(secret.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+    // Built once: both are immutable and thread-safe
+    private final Key signingKey = new SecretKeySpec(secret.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Recently verified tokens (SHA-256 digest -> claims), so repeat requests skip HMAC and JSON parsing
+    private final int tokenCacheSize;
+    private final ReentrantLock tokenCacheLock = new ReentrantLock();
+    private final LinkedHashMap<TokenDigest, Claims> verifiedTokens;
+
+    public JwtUtil() {
+        this(4096);
+    }
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.verified-token-cache-size:4096}") int tokenCacheSize) {
+        this.tokenCacheSize = tokenCacheSize;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TokenDigest, Claims> eldest) {
+                return size() > JwtUtil.this.tokenCacheSize;
+            }
+        };
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -31,19 +65,28 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
+    // Embeds the user id and role so the request filter can cross-check the cached principal
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole() != null ? user.getRole().name() : null);
+        return createToken(claims, user.getUsername());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        // Parsing already rejects expired tokens; the explicit check covers cached claims at the boundary
+        final Claims claims = parseClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
     }
 
     public String extractUsername(String token) {
@@ -55,15 +98,78 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(getSigningKey()).parseClaimsJws(token).getBody();
+    /**
+     * Verifies signature and expiry and returns the claims; throws JwtException if
+     * the token is not valid. Tokens verified before are answered from the cache
+     * until they expire. The returned claims are shared and must not be modified.
+     */
+    public Claims parseClaims(String token) {
+        if (tokenCacheSize <= 0) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        Claims claims;
+        tokenCacheLock.lock();
+        try {
+            claims = verifiedTokens.get(digest);
+        } finally {
+            tokenCacheLock.unlock();
+        }
+        if (claims != null) {
+            Date expiresAt = claims.getExpiration();
+            if (expiresAt == null || expiresAt.getTime() > System.currentTimeMillis()) {
+                return claims;
+            }
+            tokenCacheLock.lock();
+            try {
+                verifiedTokens.remove(digest);
+            } finally {
+                tokenCacheLock.unlock();
+            }
+        }
+
+        // Expired or tampered tokens throw here and are never cached
+        claims = parser.parseClaimsJws(token).getBody();
+        tokenCacheLock.lock();
+        try {
+            verifiedTokens.put(digest, claims);
+        } finally {
+            tokenCacheLock.unlock();
+        }
+        return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Keys the cache by digest so raw bearer tokens are not retained in memory
+    private static final class TokenDigest {
+        private final byte[] bytes;
+        private final int hash;
+
+        private TokenDigest(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        static TokenDigest of(String token) {
+            try {
+                return new TokenDigest(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TokenDigest digest && Arrays.equals(bytes, digest.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
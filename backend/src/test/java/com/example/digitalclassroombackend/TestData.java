@@ -0,0 +1,38 @@
+package com.example.digitalclassroombackend;
+
+import java.time.LocalDateTime;
+
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.UserRepository;
+
+/**
+ * Rows shared by the integration tests. Usernames must be unique per test,
+ * as all test classes with the same configuration share one database.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static User saveUser(UserRepository userRepository, String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("unused");
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        user.setStatus("APPROVED");
+        return userRepository.save(user);
+    }
+
+    public static Assignment saveAssignment(AssignmentRepository assignmentRepository, User teacher, String title) {
+        Assignment assignment = new Assignment();
+        assignment.setTitle(title);
+        assignment.setCreatedBy(teacher);
+        assignment.setCreateDate(LocalDateTime.now());
+        assignment.setDueDate(LocalDateTime.now().plusDays(7));
+        assignment.setTotalMarks(10);
+        return assignmentRepository.save(assignment);
+    }
+}
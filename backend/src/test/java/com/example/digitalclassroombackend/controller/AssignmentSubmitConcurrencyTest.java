@@ -0,0 +1,112 @@
+package com.example.digitalclassroombackend.controller;
+
+import static com.example.digitalclassroombackend.TestData.saveAssignment;
+import static com.example.digitalclassroombackend.TestData.saveUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.example.digitalclassroombackend.model.Assignment;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.UserRepository;
+
+/**
+ * Parallel submits of the same assignment by the same student: exactly one
+ * wins, the rest get 409, and only one submissions row is written.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AssignmentSubmitConcurrencyTest {
+
+    private static final int REQUESTS = 16;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentSubmitsForOneStudentStoreOneSubmission() throws Exception {
+        User teacher = saveUser(userRepository, "submit-race-teacher", User.Role.TEACHER);
+        User student = saveUser(userRepository, "submit-race-student", User.Role.STUDENT);
+        Assignment assignment = saveAssignment(assignmentRepository, teacher, "Race");
+
+        // Every request waits at the gate so they hit the existence check and the insert together
+        CountDownLatch gate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(REQUESTS);
+        List<Future<Integer>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                int attempt = i;
+                responses.add(pool.submit(() -> {
+                    HttpEntity<MultiValueMap<String, Object>> request = submitRequest(assignment.getId(),
+                            student.getUsername(), "attempt " + attempt);
+                    gate.await();
+                    return restTemplate.postForEntity("/api/assignments/submit", request, String.class)
+                            .getStatusCode().value();
+                }));
+            }
+            gate.countDown();
+
+            int succeeded = 0;
+            int conflicts = 0;
+            for (Future<Integer> response : responses) {
+                int status = response.get();
+                if (status == 200) {
+                    succeeded++;
+                } else if (status == 409) {
+                    conflicts++;
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(REQUESTS - 1);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM submissions WHERE assignment_id = ? AND submitted_by = ?",
+                Integer.class, assignment.getId(), student.getId());
+        assertThat(rows).isEqualTo(1);
+    }
+
+    private static HttpEntity<MultiValueMap<String, Object>> submitRequest(Long assignmentId, String username, String content) {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("assignmentId", assignmentId.toString());
+        form.add("username", username);
+        form.add("file", new ByteArrayResource(content.getBytes()) {
+            @Override
+            public String getFilename() {
+                return "answer.txt";
+            }
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return new HttpEntity<>(form, headers);
+    }
+}
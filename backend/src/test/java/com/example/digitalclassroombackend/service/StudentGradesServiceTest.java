@@ -0,0 +1,134 @@
+package com.example.digitalclassroombackend.service;
+
+import static com.example.digitalclassroombackend.TestData.saveAssignment;
+import static com.example.digitalclassroombackend.TestData.saveUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.digitalclassroombackend.model.Grades;
+import com.example.digitalclassroombackend.model.Rubric;
+import com.example.digitalclassroombackend.model.RubricCriteria;
+import com.example.digitalclassroombackend.model.RubricScore;
+import com.example.digitalclassroombackend.model.Submission;
+import com.example.digitalclassroombackend.model.User;
+import com.example.digitalclassroombackend.repository.AssignmentRepository;
+import com.example.digitalclassroombackend.repository.GradesRepository;
+import com.example.digitalclassroombackend.repository.RubricCriteriaRepository;
+import com.example.digitalclassroombackend.repository.RubricRepository;
+import com.example.digitalclassroombackend.repository.RubricScoreRepository;
+import com.example.digitalclassroombackend.repository.SubmissionRepository;
+import com.example.digitalclassroombackend.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The "My Grades" read path must stay at two statements however many grades
+ * and rubric scores the student has.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentGradesServiceTest {
+
+    private static final int GRADED_ASSIGNMENTS = 5;
+    private static final int CRITERIA = 3;
+
+    @Autowired
+    private StudentGradesService studentGradesService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private GradesRepository gradesRepository;
+
+    @Autowired
+    private RubricRepository rubricRepository;
+
+    @Autowired
+    private RubricCriteriaRepository rubricCriteriaRepository;
+
+    @Autowired
+    private RubricScoreRepository rubricScoreRepository;
+
+    @Test
+    void publishedGradesWithRubricScoresLoadInTwoStatements() {
+        User teacher = saveUser(userRepository, "grades-teacher", User.Role.TEACHER);
+        User student = saveUser(userRepository, "grades-student", User.Role.STUDENT);
+
+        Rubric rubric = new Rubric();
+        rubric.setTitle("Essay rubric");
+        rubric.setCreatedBy(teacher);
+        rubric.setCreatedAt(LocalDateTime.now());
+        rubricRepository.save(rubric);
+        List<RubricCriteria> criteria = new ArrayList<>();
+        for (int c = 0; c < CRITERIA; c++) {
+            RubricCriteria criterion = new RubricCriteria();
+            criterion.setRubric(rubric);
+            criterion.setCriteriaName("Criterion " + c);
+            criterion.setMaxPoints(10.0);
+            criterion.setOrderIndex(c);
+            criteria.add(rubricCriteriaRepository.save(criterion));
+        }
+
+        for (int a = 0; a <= GRADED_ASSIGNMENTS; a++) {
+            // The last grade is not published and must not be returned
+            Grades.GradeStatus status = a < GRADED_ASSIGNMENTS ? Grades.GradeStatus.PUBLISHED : Grades.GradeStatus.GRADED;
+            Submission submission = new Submission();
+            submission.setAssignment(saveAssignment(assignmentRepository, teacher, "Graded " + a));
+            submission.setSubmittedBy(student);
+            submission.setFileName("answer-" + a + ".pdf");
+            submission.setSubmitDate(LocalDateTime.now());
+            submissionRepository.save(submission);
+
+            Grades grade = new Grades();
+            grade.setSubmission(submission);
+            grade.setMarks(7.0 + a);
+            grade.setFeedback("Feedback " + a);
+            grade.setStatus(status);
+            grade.setGradedAt(LocalDateTime.now());
+            gradesRepository.save(grade);
+
+            for (RubricCriteria criterion : criteria) {
+                RubricScore score = new RubricScore();
+                score.setSubmission(submission);
+                score.setCriteria(criterion);
+                score.setScore(8.0);
+                rubricScoreRepository.save(score);
+            }
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Map<String, Object>> grades = studentGradesService.getPublishedGrades(student.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(grades).hasSize(GRADED_ASSIGNMENTS);
+        for (Map<String, Object> grade : grades) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> submission = (Map<String, Object>) grade.get("submission");
+            assertThat((List<?>) submission.get("rubricScores")).hasSize(CRITERIA);
+            assertThat(submission.get("assignment")).isNotNull();
+        }
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+}